@@ -0,0 +1,136 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.ProjectTasksBackEndApplication;
+import ma.ensa.projecttasksbackend.config.TaskIdGeneratorAligner;
+import ma.ensa.projecttasksbackend.service.TaskCounterReconciler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Boots the application against the embedded H2 database of the {@code bench} profile
+ * and seeds it with plain JDBC batches, so seeding a million tasks stays in the seconds range.
+ */
+final class BenchmarkApplication {
+
+    static final String USER_EMAIL = "bench@projecttasks.local";
+    static final String USER_PASSWORD = "password123";
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(ProjectTasksBackEndApplication.class)
+                .profiles("bench")
+                .properties(properties)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    /**
+     * Same as {@link #start} with Tomcat listening on a random port. A positive {@code databaseLatency}
+     * delays every statement and commit by that much, as a network round trip to MySQL would.
+     */
+    static ConfigurableApplicationContext startServer(Duration databaseLatency, String... properties) {
+        return new SpringApplicationBuilder(ProjectTasksBackEndApplication.class)
+                .profiles("bench")
+                .properties("server.port=0")
+                .properties(properties)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new DatabaseLatency(databaseLatency)))
+                .run();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Runs {@code call} with an entity manager bound to the current thread, the way
+     * open-in-view does for every HTTP request, so lazy associations behave as in production.
+     */
+    static <T> T inRequest(EntityManagerFactory entityManagerFactory, Supplier<T> call) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return call.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    static long seedUser(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String password = context.getBean(PasswordEncoder.class).encode(USER_PASSWORD);
+        jdbc.update("INSERT INTO user (full_name, email, password) VALUES (?, ?, ?)",
+                "Bench User", USER_EMAIL, password);
+        return jdbc.queryForObject("SELECT id FROM user WHERE email = ?", Long.class, USER_EMAIL);
+    }
+
+    /**
+     * Creates {@code projectCount} projects for the user and spreads {@code taskCount} tasks
+     * evenly across them. Returns the project ids in creation order.
+     */
+    static List<Long> seedProjects(ConfigurableApplicationContext context, long userId, int projectCount, int taskCount) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> projectIds = new ArrayList<>();
+
+        for (int p = 0; p < projectCount; p++) {
+            jdbc.update("INSERT INTO project (title, description, created_at, user_id, total_tasks, completed_tasks) VALUES (?, ?, ?, ?, 0, 0)",
+                    "Bench Project " + p, "Seeded project " + p, Timestamp.valueOf(now.minusDays(p)), userId);
+        }
+        projectIds.addAll(jdbc.queryForList(
+                "SELECT id FROM project WHERE user_id = ? ORDER BY id", Long.class, userId));
+
+        // Task ids come from a table generator, so they are assigned here and the generator is moved past them.
+        long firstTaskId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM task", Long.class);
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < taskCount; i++) {
+            long projectId = projectIds.get(i % projectCount);
+            batch.add(new Object[]{
+                    firstTaskId + i,
+                    "Task " + i,
+                    "Description of seeded task number " + i,
+                    Date.valueOf(today.plusDays(i % 120 - 60)),
+                    i % 3 == 0,
+                    Timestamp.valueOf(now.minusSeconds(i)),
+                    projectId
+            });
+            if (batch.size() == BATCH_SIZE) {
+                insertTasks(jdbc, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertTasks(jdbc, batch);
+        }
+        context.getBean(TaskIdGeneratorAligner.class).align();
+        context.getBean(TaskCounterReconciler.class).reconcile();
+        return projectIds;
+    }
+
+    private static void insertTasks(JdbcTemplate jdbc, List<Object[]> batch) {
+        jdbc.batchUpdate("INSERT INTO task (id, title, description, due_date, completed, created_at, project_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
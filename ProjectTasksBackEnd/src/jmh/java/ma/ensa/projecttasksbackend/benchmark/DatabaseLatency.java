@@ -0,0 +1,57 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Wraps the data source so that every statement execution and commit sleeps first. The in-memory
+ * H2 database answers in microseconds, which hides what request threads do while MySQL is busy
+ * or far away: wait.
+ */
+final class DatabaseLatency implements BeanPostProcessor {
+    private static final Set<String> ROUND_TRIPS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch", "commit");
+
+    private final Duration latency;
+
+    DatabaseLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && latency.isPositive()) {
+            return wrap(dataSource, DataSource.class);
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(T target, Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (ROUND_TRIPS.contains(method.getName())) {
+                Thread.sleep(latency);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return wrap(connection, Connection.class);
+            }
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return wrap(statement, (Class<Statement>) method.getReturnType());
+            }
+            return result;
+        });
+    }
+}
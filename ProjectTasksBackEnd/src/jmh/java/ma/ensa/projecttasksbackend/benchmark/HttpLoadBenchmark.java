@@ -0,0 +1,105 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@value #CLIENTS} concurrent clients listing the first page of a project's tasks over HTTP,
+ * with Tomcat serving requests from its platform thread pool or from virtual threads. Each request
+ * reads the JWT, checks ownership, and runs the page and count queries, every statement delayed by
+ * {@link #databaseLatencyMillis} to stand in for MySQL. Throughput is in requests per millisecond.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(HttpLoadBenchmark.CLIENTS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class HttpLoadBenchmark {
+    static final int CLIENTS = 2000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(1);
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    // The Hikari default, and enough connections for every client to hold one.
+    @Param({"10", "2000"})
+    public int poolSize;
+
+    @Param({"2"})
+    public long databaseLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listTasks;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.startServer(
+                Duration.ofMillis(databaseLatencyMillis),
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                // Tomcat's default admission on virtual threads, raised to the pool size when larger.
+                "requests.max-concurrent=" + Math.max(200, poolSize),
+                // Measure the wait for a connection rather than fail on it.
+                "spring.datasource.hikari.connection-timeout=" + REQUEST_TIMEOUT.toMillis(),
+                "server.tomcat.accept-count=" + CLIENTS);
+        long userId = BenchmarkApplication.seedUser(context);
+        List<Long> projectIds = BenchmarkApplication.seedProjects(context, userId, SeededApplication.PROJECT_COUNT, 10_000);
+        String token = context.getBean(JwtService.class).generateToken(new UserPrincipal(User.builder()
+                .id(userId)
+                .fullName("Bench User")
+                .email(BenchmarkApplication.USER_EMAIL)
+                .build()));
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        listTasks = HttpRequest.newBuilder(URI.create("http://localhost:" + BenchmarkApplication.port(context)
+                        + "/api/projects/" + projectIds.get(0) + "/tasks?size=10"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int listTasks() throws IOException, InterruptedException {
+        int status = client.send(listTasks, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Unexpected status " + status);
+        }
+        return status;
+    }
+}
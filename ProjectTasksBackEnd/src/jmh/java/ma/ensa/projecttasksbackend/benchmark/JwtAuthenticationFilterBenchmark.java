@@ -0,0 +1,92 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import jakarta.servlet.FilterChain;
+import ma.ensa.projecttasksbackend.security.CustomUserDetailsService;
+import ma.ensa.projecttasksbackend.security.JwtAuthenticationFilter;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}: token parsing,
+ * principal resolution and signature/expiry validation. {@code stateless=false} resolves
+ * the principal with a user table lookup, {@code stateless=true} from the token claims.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp(UserOnlyApplication app) {
+        filter = app.context.getBean(JwtAuthenticationFilter.class);
+        String token = app.context.getBean(JwtService.class).generateToken(
+                (UserPrincipal) app.context.getBean(CustomUserDetailsService.class)
+                        .loadUserByUsername(BenchmarkApplication.USER_EMAIL));
+
+        request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The filter path only depends on the user table, so this skips task seeding.
+     */
+    @State(Scope.Benchmark)
+    public static class UserOnlyApplication {
+
+        @Param({"false", "true"})
+        public boolean stateless;
+
+        private ConfigurableApplicationContext context;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkApplication.start("jwt.stateless=" + stateless);
+            BenchmarkApplication.seedUser(context);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+}
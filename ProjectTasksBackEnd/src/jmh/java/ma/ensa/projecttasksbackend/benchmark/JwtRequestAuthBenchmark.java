@@ -0,0 +1,81 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done by the JWT filter for one request. {@link #legacy()} replays what the filter
+ * did before claims caching: decode the key and build a parser for each of the three parses.
+ * {@link #current()} is today's single lookup, with the verified-claims cache on or off.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtRequestAuthBenchmark {
+
+    @Param({"0", "10000"})
+    public long tokenCacheSize;
+
+    private JwtService jwtService;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(JwtServiceBenchmark.SECRET, JwtServiceBenchmark.EXPIRATION, tokenCacheSize);
+        principal = new UserPrincipal(User.builder()
+                .id(1L)
+                .fullName("Bench User")
+                .email(BenchmarkApplication.USER_EMAIL)
+                .password(BenchmarkApplication.USER_PASSWORD)
+                .build());
+        token = jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public boolean current() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, principal);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String userEmail = legacyParse(token).getSubject();
+        return userEmail != null
+                && legacyParse(token).getSubject().equals(principal.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyParse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtServiceBenchmark.SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,65 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification in {@link JwtService}, without any application context.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "MohamedElMostafiSecretKey123453cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b";
+    static final long EXPIRATION = 86_400_000L;
+
+    private JwtService jwtService;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION, 10_000);
+
+        principal = new UserPrincipal(User.builder()
+                .id(1L)
+                .fullName("Bench User")
+                .email(BenchmarkApplication.USER_EMAIL)
+                .password(BenchmarkApplication.USER_PASSWORD)
+                .build());
+        token = jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUserEmail() {
+        return jwtService.extractUserEmail(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, principal);
+    }
+}
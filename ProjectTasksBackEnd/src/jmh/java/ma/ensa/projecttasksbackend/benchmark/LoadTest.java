@@ -0,0 +1,363 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts the application on the embedded database of the {@code bench} profile and has
+ * {@code loadtest.clients} virtual-thread clients replay a mix of user actions against it over HTTP
+ * for {@code loadtest.duration}, after {@code loadtest.warmup} of the same traffic that is not
+ * recorded. Each client logs in as one of the seeded users and then picks its next action at random,
+ * weighted by {@code loadtest.mix}, without pausing in between.
+ * <p>
+ * Throughput, latency percentiles and error rate of each action go to {@code loadtest.result} as
+ * JSON, together with the compressed HdrHistogram of its latencies. Given the result of an earlier
+ * run as {@code loadtest.baseline}, the run fails when an action's p99 grew by more than
+ * {@code loadtest.max-regression} or its error rate by more than one point.
+ * <p>
+ * Clients wait for each response before sending the next request, so when the server stalls they
+ * stop sending and the stall weighs less in the percentiles than it would for an open stream of
+ * users. Compare runs with the same number of clients.
+ */
+public final class LoadTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String PASSWORD = "password123";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final Map<Action, Integer> mix;
+    private final int mixTotal;
+    private final List<Account> accounts = new ArrayList<>();
+    private String baseUrl;
+
+    // Replaced when measuring starts, so the warm-up traffic is dropped.
+    private volatile Map<Action, Stats> stats = newStats();
+    private volatile boolean stopped;
+
+    /**
+     * What a client can do, with the name it is reported under.
+     */
+    enum Action {
+        LOGIN("login"),
+        LIST_PROJECTS("listProjects"),
+        OPEN_PROJECT("openProject"),
+        SEARCH_TASKS("searchTasks"),
+        COMPLETE_TASK("completeTask");
+
+        private final String key;
+
+        Action(String key) {
+            this.key = key;
+        }
+
+        static Action of(String key) {
+            for (Action action : values()) {
+                if (action.key.equals(key)) {
+                    return action;
+                }
+            }
+            throw new IllegalArgumentException("Unknown action " + key);
+        }
+    }
+
+    private record Account(String email, List<Long> projectIds, long[] taskIds) {
+    }
+
+    private static final class Stats {
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private static final class Session {
+        final Account account;
+        String token;
+
+        Session(Account account) {
+            this.account = account;
+        }
+    }
+
+    private LoadTest(Map<Action, Integer> mix) {
+        this.mix = mix;
+        this.mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 200);
+        int users = Integer.getInteger("loadtest.users", 50);
+        int projectsPerUser = Integer.getInteger("loadtest.projects-per-user", 5);
+        int tasksPerUser = Integer.getInteger("loadtest.tasks-per-user", 2000);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Duration databaseLatency = Duration.parse(System.getProperty("loadtest.database-latency", "PT0S"));
+        Path result = Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+        String baseline = System.getProperty("loadtest.baseline");
+        double maxRegression = Double.parseDouble(System.getProperty("loadtest.max-regression", "0.25"));
+
+        LoadTest loadTest = new LoadTest(parseMix(System.getProperty("loadtest.mix",
+                "login=2,listProjects=30,openProject=25,searchTasks=33,completeTask=10")));
+        ConfigurableApplicationContext context = BenchmarkApplication.startServer(databaseLatency,
+                splitProperties(System.getProperty("loadtest.properties", "")));
+        Map<String, Object> report;
+        try {
+            loadTest.seed(context, users, projectsPerUser, tasksPerUser);
+            loadTest.baseUrl = "http://localhost:" + BenchmarkApplication.port(context) + "/api";
+            report = loadTest.run(clients, warmup, duration);
+        } finally {
+            loadTest.client.close();
+            context.close();
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        loadTest.objectMapper.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), report);
+        System.out.println("Load test results: " + result.toAbsolutePath());
+
+        if (baseline != null && !baseline.isBlank()) {
+            List<String> regressions = loadTest.compare(report, loadTest.objectMapper.readTree(Path.of(baseline).toFile()), maxRegression);
+            regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context, int users, int projectsPerUser, int tasksPerUser) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        // One hash for every user, as BCrypt takes a good part of a second per user.
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        for (int u = 0; u < users; u++) {
+            String email = "load" + u + "@projecttasks.local";
+            jdbc.update("INSERT INTO user (full_name, email, password) VALUES (?, ?, ?)", "Load User " + u, email, password);
+            long userId = jdbc.queryForObject("SELECT id FROM user WHERE email = ?", Long.class, email);
+            List<Long> projectIds = BenchmarkApplication.seedProjects(context, userId, projectsPerUser, tasksPerUser);
+            long[] taskIds = jdbc.queryForList(
+                    "SELECT t.id FROM task t JOIN project p ON p.id = t.project_id WHERE p.user_id = ?", Long.class, userId)
+                    .stream().mapToLong(Long::longValue).toArray();
+            accounts.add(new Account(email, projectIds, taskIds));
+        }
+    }
+
+    private Map<String, Object> run(int clients, Duration warmup, Duration duration) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                Session session = new Session(accounts.get(c % accounts.size()));
+                executor.execute(() -> runClient(session));
+            }
+            Thread.sleep(warmup);
+            stats = newStats();
+            long started = System.nanoTime();
+            Thread.sleep(duration);
+            Map<Action, Stats> measured = stats;
+            double seconds = (System.nanoTime() - started) / 1e9;
+            stopped = true;
+            return report(measured, clients, seconds);
+        }
+    }
+
+    private void runClient(Session session) {
+        perform(session, Action.LOGIN);
+        while (!stopped) {
+            perform(session, next());
+        }
+    }
+
+    private Action next() {
+        int pick = ThreadLocalRandom.current().nextInt(mixTotal);
+        for (Map.Entry<Action, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void perform(Session session, Action action) {
+        Stats recorded = stats.get(action);
+        long started = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<String> response = client.send(request(session, action), HttpResponse.BodyHandlers.ofString());
+            failed = response.statusCode() >= 400;
+            if (action == Action.LOGIN && !failed) {
+                session.token = objectMapper.readTree(response.body()).get("accessToken").asText();
+            }
+        } catch (IOException ex) {
+            failed = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+        recorded.latencies.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+        if (failed) {
+            recorded.errors.increment();
+        }
+    }
+
+    private HttpRequest request(Session session, Action action) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Account account = session.account;
+        long projectId = account.projectIds().get(random.nextInt(account.projectIds().size()));
+        return switch (action) {
+            case LOGIN -> HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .timeout(REQUEST_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + account.email() + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+            case LIST_PROJECTS -> authorized(session, "/projects?size=10").GET().build();
+            case OPEN_PROJECT -> authorized(session, "/projects/" + projectId).GET().build();
+            case SEARCH_TASKS -> {
+                // Seeded tasks are due within 60 days either way of today and titled "Task <n>".
+                LocalDate from = LocalDate.now().plusDays(random.nextInt(-60, 30));
+                String filter = switch (random.nextInt(3)) {
+                    case 0 -> "completed=false";
+                    case 1 -> "dueDateFrom=" + from + "&dueDateTo=" + from.plusDays(30);
+                    default -> "query=Task+" + random.nextInt(100);
+                };
+                yield authorized(session, "/projects/" + projectId + "/tasks?size=20&" + filter).GET().build();
+            }
+            case COMPLETE_TASK -> authorized(session, "/tasks/" + account.taskIds()[random.nextInt(account.taskIds().length)] + "/complete")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + session.token)
+                .timeout(REQUEST_TIMEOUT);
+    }
+
+    private Map<String, Object> report(Map<Action, Stats> measured, int clients, double seconds) {
+        Map<String, Object> actions = new LinkedHashMap<>();
+        Histogram all = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long errors = 0;
+        for (Map.Entry<Action, Stats> entry : measured.entrySet()) {
+            Histogram latencies = entry.getValue().latencies.copy();
+            long failed = entry.getValue().errors.sum();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(latencies);
+            errors += failed;
+            actions.put(entry.getKey().key, summary(latencies, failed, seconds, true));
+            System.out.printf("%-14s %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %d%n",
+                    entry.getKey().key, latencies.getTotalCount() / seconds,
+                    millis(latencies, 50), millis(latencies, 99), latencies.getMaxValue() / 1000.0, failed);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", clients);
+        report.put("durationSeconds", seconds);
+        report.put("mix", mix.entrySet().stream().collect(LinkedHashMap::new,
+                (map, entry) -> map.put(entry.getKey().key, entry.getValue()), Map::putAll));
+        report.put("total", summary(all, errors, seconds, false));
+        report.put("actions", actions);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram latencies, long errors, double seconds, boolean withHistogram) {
+        long requests = latencies.getTotalCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        summary.put("throughput", requests / seconds);
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("mean", latencies.getMean() / 1000);
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            percentiles.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    millis(latencies, percentile));
+        }
+        percentiles.put("max", latencies.getMaxValue() / 1000.0);
+        summary.put("latencyMillis", percentiles);
+        if (withHistogram) {
+            // Readable with Histogram.decodeFromCompressedByteBuffer, e.g. to merge or re-plot runs.
+            ByteBuffer buffer = ByteBuffer.allocate(latencies.getNeededByteBufferCapacity());
+            int length = latencies.encodeIntoCompressedByteBuffer(buffer);
+            summary.put("histogramMicros", Base64.getEncoder().encodeToString(
+                    Arrays.copyOf(buffer.array(), length)));
+        }
+        return summary;
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private List<String> compare(Map<String, Object> report, JsonNode baseline, double maxRegression) {
+        JsonNode current = objectMapper.valueToTree(report).get("actions");
+        List<String> regressions = new ArrayList<>();
+        baseline.get("actions").fields().forEachRemaining(entry -> {
+            JsonNode now = current.get(entry.getKey());
+            if (now == null) {
+                return;
+            }
+            double before = entry.getValue().get("latencyMillis").get("p99").asDouble();
+            double after = now.get("latencyMillis").get("p99").asDouble();
+            if (after > before * (1 + maxRegression)) {
+                regressions.add(String.format("%s p99 %.2f ms, baseline %.2f ms", entry.getKey(), after, before));
+            }
+            double errorsBefore = entry.getValue().get("errorRate").asDouble();
+            double errorsAfter = now.get("errorRate").asDouble();
+            if (errorsAfter > errorsBefore + 0.01) {
+                regressions.add(String.format("%s error rate %.4f, baseline %.4f", entry.getKey(), errorsAfter, errorsBefore));
+            }
+        });
+        return regressions;
+    }
+
+    private Map<Action, Stats> newStats() {
+        Map<Action, Stats> fresh = new LinkedHashMap<>();
+        for (Action action : Action.values()) {
+            fresh.put(action, new Stats());
+        }
+        return fresh;
+    }
+
+    private static Map<Action, Integer> parseMix(String mix) {
+        Map<Action, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            weights.put(Action.of(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String[] splitProperties(String properties) {
+        return properties.isBlank() ? new String[0] : properties.split(";");
+    }
+}
@@ -0,0 +1,70 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import ma.ensa.projecttasksbackend.service.ProjectPageCache;
+import ma.ensa.projecttasksbackend.service.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProjectService#getCurrentUserProjects} and the single project lookup, both of which
+ * go through {@code ProjectService.mapToDTO} to compute the task counters. The listing is
+ * measured both from {@link ProjectPageCache} and with the page evicted before every call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ProjectServiceBenchmark {
+
+    private final Pageable firstPage = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+    private ProjectService projectService;
+    private ProjectPageCache projectPageCache;
+    private SeededApplication app;
+    private Long projectId;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        this.app = app;
+        projectService = app.getBean(ProjectService.class);
+        projectPageCache = app.getBean(ProjectPageCache.class);
+        projectId = app.firstProjectId();
+    }
+
+    @Benchmark
+    public PagedResponse<ProjectResponseDTO> currentUserProjects(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> projectService.getCurrentUserProjects(firstPage));
+    }
+
+    @Benchmark
+    public PagedResponse<ProjectResponseDTO> currentUserProjectsUncached(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> {
+            projectPageCache.evictAfterCommit(CurrentUser.id());
+            return projectService.getCurrentUserProjects(firstPage);
+        });
+    }
+
+    @Benchmark
+    public ProjectResponseDTO projectById(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> projectService.getProjectById(projectId));
+    }
+}
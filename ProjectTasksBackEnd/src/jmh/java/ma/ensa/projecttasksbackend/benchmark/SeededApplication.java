@@ -0,0 +1,84 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Application context seeded with one user owning {@link #PROJECT_COUNT} projects
+ * that share {@link #taskCount} tasks between them.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    public static final int PROJECT_COUNT = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private long userId;
+    private List<Long> projectIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        userId = BenchmarkApplication.seedUser(context);
+        projectIds = BenchmarkApplication.seedProjects(context, userId, PROJECT_COUNT, taskCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public <T> T inRequest(Supplier<T> call) {
+        return BenchmarkApplication.inRequest(entityManagerFactory, call);
+    }
+
+    public Long firstProjectId() {
+        return projectIds.get(0);
+    }
+
+    /**
+     * Puts the seeded user in the security context of the benchmark thread, the way
+     * the JWT filter does for a real request.
+     */
+    @State(Scope.Thread)
+    public static class AuthenticatedThread {
+
+        @Setup(Level.Trial)
+        public void authenticate(SeededApplication app) {
+            UserPrincipal principal = new UserPrincipal(User.builder()
+                    .id(app.userId)
+                    .email(BenchmarkApplication.USER_EMAIL)
+                    .build());
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    principal, null, Collections.emptyList()));
+        }
+
+        @TearDown(Level.Trial)
+        public void clear() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
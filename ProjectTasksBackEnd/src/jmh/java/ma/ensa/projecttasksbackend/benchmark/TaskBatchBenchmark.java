@@ -0,0 +1,77 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchResultDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
+import ma.ensa.projecttasksbackend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates and then deletes {@link #TASKS} tasks per invocation, one call per task through the
+ * single-task service methods versus one call through the batch methods. Scores are per task.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskBatchBenchmark {
+
+    private static final int TASKS = 100;
+
+    private TaskService taskService;
+    private Long projectId;
+    private List<TaskCreateDTO> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        taskService = app.getBean(TaskService.class);
+        projectId = app.firstProjectId();
+        tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new TaskCreateDTO("Batch task " + i, "Created by the batch benchmark", null));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void singleItem(SeededApplication.AuthenticatedThread auth, Blackhole blackhole) {
+        List<Long> taskIds = new ArrayList<>(TASKS);
+        for (TaskCreateDTO task : tasks) {
+            taskIds.add(taskService.createTask(projectId, task).id());
+        }
+        for (Long taskId : taskIds) {
+            taskService.deleteTask(taskId);
+        }
+        blackhole.consume(taskIds);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public TaskBatchResultDTO batch(SeededApplication.AuthenticatedThread auth) {
+        List<Long> taskIds = taskService.createTasks(projectId, new TaskBatchCreateDTO(tasks))
+                .stream()
+                .map(TaskResponseDTO::id)
+                .toList();
+        return taskService.deleteTasks(projectId, new TaskIdsDTO(taskIds));
+    }
+}
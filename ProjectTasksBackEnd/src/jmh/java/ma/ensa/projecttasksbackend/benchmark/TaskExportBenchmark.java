@@ -0,0 +1,70 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.dto.task.TaskExportFormat;
+import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.service.TaskExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full export of one project into a discarding stream. Run with {@code -p taskCount=1000000}
+ * for 100k tasks per project and {@code -prof gc}: the export allocates per row but retains
+ * nothing, so GC keeps up without old-generation growth. The embedded H2 database shares the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskExportBenchmark {
+
+    @Param({"NDJSON", "CSV"})
+    public TaskExportFormat format;
+
+    private final TaskFilterDTO noFilter = new TaskFilterDTO(null, null, null, null);
+
+    private TaskExportService taskExportService;
+    private Long projectId;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        taskExportService = app.getBean(TaskExportService.class);
+        projectId = app.firstProjectId();
+    }
+
+    @Benchmark
+    public long exportProject(SeededApplication.AuthenticatedThread auth) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        taskExportService.exportTasks(projectId, noFilter, format).writeTo(out);
+        return out.bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
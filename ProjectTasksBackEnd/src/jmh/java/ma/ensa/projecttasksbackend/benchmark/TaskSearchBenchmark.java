@@ -0,0 +1,73 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a task search, through the LIKE query that used to serve it and through
+ * {@link TaskService#getTasksByProject}, which now goes to the in-memory index. The index of the
+ * project is built during warmup. Run with {@code -p taskCount=1000000} for 100k tasks per project.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    // A single title, a title prefix shared by ~1% of the tasks, and a word found in every description.
+    @Param({"task 4242", "task 42", "seeded"})
+    public String query;
+
+    private final Pageable firstPage = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private SeededApplication app;
+    private Long projectId;
+    private TaskFilterDTO filter;
+    private String likePattern;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        this.app = app;
+        taskService = app.getBean(TaskService.class);
+        taskRepository = app.getBean(TaskRepository.class);
+        projectId = app.firstProjectId();
+        filter = new TaskFilterDTO(query, null, null, null);
+        likePattern = "%" + query + "%";
+    }
+
+    @Benchmark
+    public Page<Task> like(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> taskRepository.findByProject(projectId, likePattern, null, null, null, firstPage));
+    }
+
+    @Benchmark
+    public PagedResponse<TaskResponseDTO> indexed(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> taskService.getTasksByProject(projectId, filter, firstPage));
+    }
+}
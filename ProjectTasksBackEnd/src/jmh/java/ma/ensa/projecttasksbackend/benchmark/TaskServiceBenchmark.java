@@ -0,0 +1,86 @@
+package ma.ensa.projecttasksbackend.benchmark;
+
+import ma.ensa.projecttasksbackend.dto.pagination.Cursor;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
+import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService#getTasksByProject} as called by {@code GET /api/projects/{projectId}/tasks},
+ * and the keyset variant {@link TaskService#getTasksByProjectAfter} reaching the same middle page.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final Pageable firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending());
+    private final TaskFilterDTO noFilter = new TaskFilterDTO(null, null, null, null);
+    private final TaskFilterDTO searchFilter = new TaskFilterDTO("task 4", false, null, null);
+
+    private TaskService taskService;
+    private SeededApplication app;
+    private Long projectId;
+    private Pageable middlePage;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        this.app = app;
+        taskService = app.getBean(TaskService.class);
+        projectId = app.firstProjectId();
+
+        int middle = app.taskCount / SeededApplication.PROJECT_COUNT / PAGE_SIZE / 2;
+        middlePage = PageRequest.of(middle, PAGE_SIZE, Sort.by("createdAt").descending().and(Sort.by("id").descending()));
+        // The cursor points after the last row of the page preceding middlePage.
+        Task previousRow = app.getBean(TaskRepository.class)
+                .findByProject(projectId, null, null, null, null, PageRequest.of(middle - 1, PAGE_SIZE, middlePage.getSort()))
+                .getContent().get(PAGE_SIZE - 1);
+        middleCursor = new Cursor(previousRow.getCreatedAt(), previousRow.getId()).encode();
+    }
+
+    @Benchmark
+    public PagedResponse<TaskResponseDTO> firstPage(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> taskService.getTasksByProject(projectId, noFilter, firstPage));
+    }
+
+    @Benchmark
+    public PagedResponse<TaskResponseDTO> middlePageByOffset(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> taskService.getTasksByProject(projectId, noFilter, middlePage));
+    }
+
+    @Benchmark
+    public CursorPagedResponse<TaskResponseDTO> middlePageByCursor(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> taskService.getTasksByProjectAfter(projectId, noFilter, middleCursor, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public PagedResponse<TaskResponseDTO> searchFirstPage(SeededApplication.AuthenticatedThread auth) {
+        return app.inRequest(() -> taskService.getTasksByProject(projectId, searchFilter, firstPage));
+    }
+}
@@ -2,8 +2,10 @@ package ma.ensa.projecttasksbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProjectTasksBackEndApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,50 @@
+package ma.ensa.projecttasksbackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the requests handled at once when they run on virtual threads. Tomcat's platform pool
+ * used to cap them at its size; without a cap every client gets a thread and all of them queue
+ * on the connection pool, where a request waits once per repository call and the unlucky ones
+ * time out. Waiting here is first come, first served, and costs a parked virtual thread.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrentRequestLimitFilter extends OncePerRequestFilter {
+    private final Semaphore permits;
+
+    public ConcurrentRequestLimitFilter(@Value("${requests.max-concurrent:200}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -9,7 +9,10 @@ import ma.ensa.projecttasksbackend.entity.User;
 import ma.ensa.projecttasksbackend.repository.ProjectRepository;
 import ma.ensa.projecttasksbackend.repository.TaskRepository;
 import ma.ensa.projecttasksbackend.repository.UserRepository;
-import org.springframework.boot.CommandLineRunner;
+import ma.ensa.projecttasksbackend.service.TaskCounterReconciler;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -18,19 +21,38 @@ import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Seeds an empty database with a few demo users, projects and tasks. Runs on a thread of its own
+ * once the application is ready, so that startup does not wait for it.
+ */
 @Component
+@Profile("!bench & !test & !seed")
 @RequiredArgsConstructor
 @Slf4j
-public class DataLoader implements CommandLineRunner {
+public class DataLoader {
 
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TaskCounterReconciler taskCounterReconciler;
     private final Faker faker = new Faker();
 
-    @Override
-    public void run(String... args) {
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread.ofPlatform()
+                .name("data-loader")
+                .daemon(true)
+                .start(() -> {
+                    try {
+                        load();
+                    } catch (RuntimeException ex) {
+                        log.error("Fake data loading failed", ex);
+                    }
+                });
+    }
+
+    void load() {
         if (userRepository.count() > 0) {
             log.info("Data already exists. Skipping data loading.");
             return;
@@ -77,6 +99,8 @@ public class DataLoader implements CommandLineRunner {
             }
         }
 
+        taskCounterReconciler.reconcile();
+
         log.info("Fake data loading completed successfully!");
         log.info("Total users: {}", userRepository.count());
         log.info("Total projects: {}", projectRepository.count());
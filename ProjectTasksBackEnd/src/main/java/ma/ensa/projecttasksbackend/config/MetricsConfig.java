@@ -0,0 +1,43 @@
+package ma.ensa.projecttasksbackend.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import ma.ensa.projecttasksbackend.security.JwtAuthenticationFilter;
+import ma.ensa.projecttasksbackend.security.TimedPasswordEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Latency distribution of the timers covering requests, services, repositories, the JWT filter
+ * and password hashing. The buckets let Prometheus compute p50, p95 and p99 over any window and
+ * across instances with {@code histogram_quantile}; percentiles computed here could not be added up.
+ */
+@Configuration
+public class MetricsConfig {
+    private static final Set<String> LATENCY_TIMERS = Set.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            ServiceTimingAspect.TIMER,
+            JwtAuthenticationFilter.TIMER,
+            TimedPasswordEncoder.TIMER
+    );
+
+    @Bean
+    public MeterFilter latencyPercentiles() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !LATENCY_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package ma.ensa.projecttasksbackend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside the transactions {@link ReplicaRoutingTransactionManager}
+ * sent to the replica, and primary connections everywhere else: read-write transactions, work
+ * outside any transaction, Flyway, and the task id generator's own transactions.
+ */
+final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    // One entry per transaction begun on this thread, innermost first, so that a REQUIRES_NEW
+    // write inside a read-only transaction still goes to the primary.
+    private static final ThreadLocal<Deque<Boolean>> ROUTES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    static void enter(boolean replica) {
+        ROUTES.get().push(replica);
+    }
+
+    static void exit() {
+        Deque<Boolean> routes = ROUTES.get();
+        routes.pop();
+        if (routes.isEmpty()) {
+            ROUTES.remove();
+        }
+    }
+
+    static boolean isReplica() {
+        Boolean replica = ROUTES.get().peek();
+        return replica != null && replica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReplica() ? REPLICA : PRIMARY;
+    }
+}
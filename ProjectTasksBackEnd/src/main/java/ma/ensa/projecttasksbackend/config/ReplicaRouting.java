@@ -0,0 +1,91 @@
+package ma.ensa.projecttasksbackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Decides whether a read-only transaction may use the replica.
+ * <p>
+ * The replica is used while its lag, measured with a heartbeat row written to the primary every
+ * {@code datasource.replica.heartbeat-interval} and read back from the replica, stays within
+ * {@code datasource.replica.max-lag}. Until the first heartbeat comes back, and whenever the
+ * replica cannot be read, every transaction goes to the primary. A user whose read-write
+ * transaction committed less than {@code datasource.replica.sticky-for} ago reads the primary
+ * too, so that they see their own writes.
+ */
+@Slf4j
+public class ReplicaRouting {
+    public static final String LAG_GAUGE = "datasource.replica.lag";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final Cache<Long, Boolean> recentWriters;
+
+    // NaN while the replica cannot be read.
+    private volatile double lagMillis = Double.NaN;
+
+    public ReplicaRouting(
+            DataSource primary,
+            DataSource replica,
+            Duration maxLag,
+            Duration stickyFor,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyFor)
+                .build();
+        Gauge.builder(LAG_GAUGE, this, routing -> routing.lagMillis / 1000)
+                .description("Seconds the replica trails the primary, NaN when it cannot be read")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a read-only transaction of the given user, null outside requests, may run on the replica.
+     */
+    public boolean canRead(Long userId) {
+        return isInSync() && (userId == null || recentWriters.getIfPresent(userId) == null);
+    }
+
+    public boolean isInSync() {
+        return lagMillis <= maxLagMillis;
+    }
+
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval:PT1S}")
+    public void checkLag() {
+        boolean wasInSync = isInSync();
+        long now = System.currentTimeMillis();
+        try {
+            primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", now);
+            Long beat = replica.queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            lagMillis = beat == null ? Double.NaN : Math.max(0, now - beat);
+        } catch (DataAccessException ex) {
+            lagMillis = Double.NaN;
+            if (wasInSync) {
+                log.warn("Cannot read the replica's heartbeat, reading from the primary", ex);
+            }
+        }
+        if (wasInSync && !isInSync() && !Double.isNaN(lagMillis)) {
+            log.warn("Replica lags {} ms behind, reading from the primary", (long) lagMillis);
+        } else if (!wasInSync && isInSync()) {
+            log.info("Replica in sync, reading from it again");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ma.ensa.projecttasksbackend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the database of each transaction when it begins, before Hibernate takes a connection:
+ * the replica for read-only transactions that {@link ReplicaRouting} allows, the primary
+ * otherwise. Commits of read-write transactions make their user sticky to the primary.
+ */
+final class ReplicaRoutingTransactionManager extends JpaTransactionManager {
+    private final ReplicaRouting routing;
+
+    ReplicaRoutingTransactionManager(EntityManagerFactory entityManagerFactory, ReplicaRouting routing) {
+        super(entityManagerFactory);
+        this.routing = routing;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        boolean replica = definition.isReadOnly() && routing.canRead(CurrentUser.find().orElse(null));
+        ReadWriteRoutingDataSource.enter(replica);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error ex) {
+            ReadWriteRoutingDataSource.exit();
+            throw ex;
+        }
+        if (replica) {
+            // Entities read from the replica may predate a write another user is sticky to;
+            // they are read from the second-level cache but never put into it.
+            session().setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            CurrentUser.find().ifPresent(routing::recordWrite);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // The entity manager outlives the transaction when it is bound to the request.
+        if (ReadWriteRoutingDataSource.isReplica()) {
+            session().setCacheMode(CacheMode.NORMAL);
+        }
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReadWriteRoutingDataSource.exit();
+        }
+    }
+
+    private Session session() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder.getEntityManager().unwrap(Session.class);
+    }
+}
@@ -0,0 +1,83 @@
+package ma.ensa.projecttasksbackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level and query caches, held in this JVM by Caffeine through JCache.
+ * <p>
+ * Each region keeps at most {@code entity-cache.<region>.max-size} entries, least recently and
+ * frequently used out first, for at most {@code entity-cache.<region>.time-to-live}. Hibernate
+ * keeps them in step with the writes it makes: entity updates replace their entry, bulk JPQL
+ * updates and deletes empty the regions of the tables they touch, and inserts invalidate the
+ * cached queries over their table. Writes from elsewhere (SQL consoles, another instance) show
+ * up once the entry expires. Hit, miss and put counts per region are exported as
+ * {@code hibernate.second.level.cache.*} and {@code hibernate.query.cache.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    private static final List<Region> REGIONS = List.of(
+            new Region("user", 10_000, Duration.ofHours(1)),
+            new Region("task", 50_000, Duration.ofMinutes(10)),
+            new Region(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 10_000, Duration.ofMinutes(10))
+    );
+
+    @Value("${entity-cache.enabled:true}")
+    private boolean enabled;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // A manager of its own, so that application contexts sharing a JVM do not share regions.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (Region region : REGIONS) {
+            String prefix = "entity-cache." + region.name() + ".";
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(
+                    environment.getProperty(prefix + "max-size", Long.class, region.maxSize())));
+            configuration.setExpireAfterWrite(OptionalLong.of(
+                    environment.getProperty(prefix + "time-to-live", Duration.class, region.timeToLive()).toNanos()));
+            cacheManager.createCache(region.name(), configuration);
+        }
+        // Neither bounded nor expiring: it holds one timestamp per table, and a cached query
+        // whose table timestamp went missing could be served after that table changed.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (!enabled) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // A region used by a mapping but missing from REGIONS fails startup instead of
+            // being created unbounded.
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private record Region(String name, long maxSize, Duration timeToLive) {
+    }
+}
@@ -0,0 +1,267 @@
+package ma.ensa.projecttasksbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import ma.ensa.projecttasksbackend.service.ProjectService;
+import ma.ensa.projecttasksbackend.service.TaskService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exercises the request path once the application has started, so that the JIT has compiled it
+ * before real clients arrive. Nothing it does is kept.
+ * <p>
+ * {@code warm-up.clients} clients share {@code warm-up.requests} iterations. In each one, a client
+ * sends a request to the application's own port that needs no account: a listing without a token,
+ * turned away by the security filters, or a login with an empty body, rejected by validation and
+ * answered by GlobalExceptionHandler. This compiles Tomcat, the security filter chain, Spring MVC
+ * and Jackson. It then runs the listing path in-process: it signs and verifies a token, bypassing
+ * the verified-token cache, and lists projects by cursor, reads a project and lists its tasks
+ * through the services. Finally it serializes the results, which compiles JWT, the Hibernate
+ * queries and the DTO mapping.
+ * <p>
+ * Those reads need an account of their own. Each client creates one, named
+ * {@code warm-up-<uuid>@projecttasks.local}, with one project of {@value #ACCOUNT_TASKS} tasks. It
+ * does so in a transaction that is rolled back once the client is done. Other transactions never
+ * see the account. No token is ever signed for a real user or sent over HTTP.
+ * <p>
+ * Runs in the background. Until it finishes, or gives up after {@code warm-up.timeout}, this
+ * indicator reports OUT_OF_SERVICE, which keeps the readiness group down when it includes
+ * {@code warmUp}. Warm-up requests show up in the request metrics like any other.
+ */
+@Component("warmUp")
+@Slf4j
+public class StartupWarmUp implements HealthIndicator {
+    private static final int ACCOUNT_TASKS = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final TaskFilterDTO NO_FILTER = new TaskFilterDTO(null, null, null, null);
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int requests;
+    private final int clients;
+    private final Duration timeout;
+
+    private volatile boolean done;
+
+    public StartupWarmUp(
+            JwtService jwtService,
+            UserRepository userRepository,
+            ProjectRepository projectRepository,
+            TaskRepository taskRepository,
+            ProjectService projectService,
+            TaskService taskService,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${warm-up.enabled:true}") boolean enabled,
+            @Value("${warm-up.requests:2000}") int requests,
+            @Value("${warm-up.clients:4}") int clients,
+            @Value("${warm-up.timeout:PT60S}") Duration timeout
+    ) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.requests = requests;
+        this.clients = clients;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        // Nothing to warm without a web server: tests on a mock environment, the seed profile.
+        if (!enabled
+                || !(event.getApplicationContext() instanceof WebServerApplicationContext context)
+                || context.getWebServer() == null) {
+            done = true;
+            return;
+        }
+        int port = context.getWebServer().getPort();
+        Thread.ofPlatform()
+                .name("warm-up")
+                .daemon(true)
+                .start(() -> warmUp(port));
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public Health health() {
+        return done ? Health.up().build() : Health.outOfService().withDetail("warmUp", "in progress").build();
+    }
+
+    private void warmUp(int port) {
+        long started = System.nanoTime();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build()) {
+            String baseUrl = "http://localhost:" + port + "/api";
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            for (int c = 0; c < clients; c++) {
+                executor.execute(() -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            status.setRollbackOnly();
+                            Account account = createAccount();
+                            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                                    account.principal(), null, account.principal().getAuthorities()));
+                            int i;
+                            while ((i = sent.getAndIncrement()) < requests && !Thread.currentThread().isInterrupted()) {
+                                if (!iterate(client, baseUrl, account, i)) {
+                                    failed.incrementAndGet();
+                                }
+                            }
+                        });
+                    } catch (RuntimeException ex) {
+                        log.warn("Warm-up client failed", ex);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+                log.warn("Warm-up did not finish within {}, accepting traffic anyway", timeout);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up failed, accepting traffic anyway", ex);
+        } finally {
+            done = true;
+        }
+        log.info("Warm-up sent {} requests ({} failed) in {}",
+                Math.min(sent.get(), requests), failed.get(), Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    // Whether the iteration went through: the HTTP request was answered below 500 and the in-process
+    // reads did not throw.
+    private boolean iterate(HttpClient client, String baseUrl, Account account, int i) {
+        try {
+            if (send(client, request(baseUrl, i)) >= 500) {
+                return false;
+            }
+            jwtService.verify(jwtService.generateToken(account.principal()));
+            objectMapper.writeValueAsBytes(read(account, i));
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Alternates a listing without a token (401) and a login with an empty body (400).
+    private static HttpRequest request(String baseUrl, int i) {
+        if (i % 2 == 0) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/projects?cursor=&size=10"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"\",\"password\":\"\"}"))
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    // One read in three lists the account's projects by cursor; the others read its project or the
+    // first page of the project's tasks.
+    private Object read(Account account, int i) {
+        return switch (i % 3) {
+            case 0 -> projectService.getCurrentUserProjectsAfter(null, 10);
+            case 1 -> projectService.getProjectById(account.projectId());
+            default -> taskService.getTasksByProjectAfter(account.projectId(), NO_FILTER, null, ACCOUNT_TASKS);
+        };
+    }
+
+    private static int send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Inside the client's transaction, which is rolled back: the password is random and the account
+    // never visible outside it.
+    private Account createAccount() {
+        User user = userRepository.save(User.builder()
+                .email("warm-up-" + UUID.randomUUID() + "@projecttasks.local")
+                .fullName("Warm-up")
+                .password(passwordEncoder.encode(UUID.randomUUID().toString()))
+                .build());
+        return new Account(new UserPrincipal(user), createProject(user).getId());
+    }
+
+    private Project createProject(User user) {
+        Project project = projectRepository.save(Project.builder()
+                .title("Warm-up")
+                .user(user)
+                .totalTasks(ACCOUNT_TASKS)
+                .build());
+        List<Task> tasks = new ArrayList<>();
+        for (int t = 0; t < ACCOUNT_TASKS; t++) {
+            tasks.add(Task.builder()
+                    .title("Warm-up task " + t)
+                    .project(project)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+        return project;
+    }
+
+    private record Account(UserPrincipal principal, Long projectId) {
+    }
+}
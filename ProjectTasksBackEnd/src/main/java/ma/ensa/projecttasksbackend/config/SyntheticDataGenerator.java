@@ -0,0 +1,316 @@
+package ma.ensa.projecttasksbackend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.entity.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with synthetic users, projects and tasks for load and capacity tests. Only
+ * runs with the {@code seed} profile, which also keeps the web server off (application-seed.properties),
+ * and stops the application once done unless {@code seed.exit-when-done} is false.
+ * <p>
+ * {@code seed.tasks} tasks are spread over {@code seed.users} x {@code seed.projects-per-user}
+ * projects with a skew: {@code seed.hot-projects} projects get {@code seed.hot-project-tasks} each,
+ * the others share the rest along a Zipf curve of exponent {@code seed.skew}. Rows are written with
+ * plain JDBC batches of {@code seed.batch-size}, which Connector/J sends as multi-row INSERTs with
+ * {@code rewriteBatchedStatements=true}, by {@code seed.workers} threads. Every user gets the same
+ * password, hashed once. The connection pool needs at least one connection per worker.
+ * <p>
+ * Seeded users are recognised by their email domain; the generator does nothing if any exists.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+    static final String EMAIL_DOMAIN = "seed.projecttasks.local";
+
+    // Tasks inserted by one worker before it picks the next slice, so that hot projects are shared.
+    private static final int SLICE_SIZE = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskIdGeneratorAligner taskIdGeneratorAligner;
+    private final ConfigurableApplicationContext context;
+    private final int users;
+    private final int projectsPerUser;
+    private final long tasks;
+    private final int hotProjects;
+    private final long hotProjectTasks;
+    private final double skew;
+    private final double completedRatio;
+    private final int workers;
+    private final int batchSize;
+    private final String password;
+    private final long randomSeed;
+    private final boolean exitWhenDone;
+
+    public SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            TaskIdGeneratorAligner taskIdGeneratorAligner,
+            ConfigurableApplicationContext context,
+            @Value("${seed.users:1000}") int users,
+            @Value("${seed.projects-per-user:10}") int projectsPerUser,
+            @Value("${seed.tasks:10000000}") long tasks,
+            @Value("${seed.hot-projects:3}") int hotProjects,
+            @Value("${seed.hot-project-tasks:1000000}") long hotProjectTasks,
+            @Value("${seed.skew:1.0}") double skew,
+            @Value("${seed.completed-ratio:0.3}") double completedRatio,
+            @Value("${seed.workers:4}") int workers,
+            @Value("${seed.batch-size:5000}") int batchSize,
+            @Value("${seed.password:password123}") String password,
+            @Value("${seed.random-seed:42}") long randomSeed,
+            @Value("${seed.exit-when-done:true}") boolean exitWhenDone
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.taskIdGeneratorAligner = taskIdGeneratorAligner;
+        this.context = context;
+        this.users = users;
+        this.projectsPerUser = projectsPerUser;
+        this.tasks = tasks;
+        this.hotProjects = hotProjects;
+        this.hotProjectTasks = hotProjectTasks;
+        this.skew = skew;
+        this.completedRatio = completedRatio;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.password = password;
+        this.randomSeed = randomSeed;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        generate();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    public void generate() throws InterruptedException, ExecutionException {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user WHERE email LIKE ?", Integer.class, "%@" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already exists. Skipping generation.");
+            return;
+        }
+        long started = System.nanoTime();
+        log.info("Generating {} users, {} projects and {} tasks with {} workers",
+                users, (long) users * projectsPerUser, tasks, workers);
+
+        List<Long> userIds = insertUsers();
+        List<Long> projectIds = insertProjects(userIds);
+        long[] taskCounts = planTaskCounts(projectIds.size());
+        AtomicIntegerArray completedCounts = insertTasks(projectIds, taskCounts);
+        updateCounters(projectIds, taskCounts, completedCounts);
+        taskIdGeneratorAligner.align();
+
+        log.info("Generated {} tasks in {}", tasks, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private List<Long> insertUsers() {
+        // One hash for everyone: BCrypt is slow by design and would dominate the run.
+        String hash = passwordEncoder.encode(password);
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            rows.add(new Object[]{"Seed User " + u, "user" + u + "@" + EMAIL_DOMAIN, hash});
+        }
+        batchUpdate("INSERT INTO user (full_name, email, password) VALUES (?, ?, ?)", rows);
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM user WHERE email LIKE ? ORDER BY id", Long.class, "%@" + EMAIL_DOMAIN);
+    }
+
+    private List<Long> insertProjects(List<Long> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(userIds.size() * projectsPerUser);
+        for (Long userId : userIds) {
+            for (int p = 0; p < projectsPerUser; p++) {
+                rows.add(new Object[]{
+                        "Seed Project " + rows.size(),
+                        "Synthetic project " + p + " of user " + userId,
+                        Timestamp.valueOf(now.minusHours(rows.size())),
+                        userId
+                });
+            }
+        }
+        batchUpdate("INSERT INTO project (title, description, created_at, user_id, total_tasks, completed_tasks) " +
+                "VALUES (?, ?, ?, ?, 0, 0)", rows);
+        return jdbcTemplate.queryForList(
+                "SELECT p.id FROM project p JOIN user u ON u.id = p.user_id WHERE u.email LIKE ? ORDER BY p.id",
+                Long.class, "%@" + EMAIL_DOMAIN);
+    }
+
+    /**
+     * Number of tasks of each project: the hot ones first, the rest by Zipf rank, with projects
+     * shuffled so that the big ones do not all belong to the first users.
+     */
+    private long[] planTaskCounts(int projectCount) {
+        long[] counts = new long[projectCount];
+        if (projectCount == 0) {
+            return counts;
+        }
+        List<Integer> order = new ArrayList<>(projectCount);
+        for (int i = 0; i < projectCount; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(randomSeed));
+
+        int hot = Math.min(hotProjects, projectCount);
+        long remaining = tasks;
+        for (int rank = 0; rank < hot && remaining > 0; rank++) {
+            long count = Math.min(hotProjectTasks, remaining);
+            counts[order.get(rank)] = count;
+            remaining -= count;
+        }
+        int others = projectCount - hot;
+        if (others == 0) {
+            // No project left to take the rest, the hot ones share it.
+            for (int rank = 0; remaining > 0; rank = (rank + 1) % projectCount, remaining--) {
+                counts[order.get(rank)]++;
+            }
+            return counts;
+        }
+
+        double[] weights = new double[others];
+        for (int rank = 0; rank < others; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, skew);
+        }
+        double total = Arrays.stream(weights).sum();
+        long assigned = 0;
+        for (int rank = 0; rank < others; rank++) {
+            long count = (long) (remaining * weights[rank] / total);
+            counts[order.get(hot + rank)] = count;
+            assigned += count;
+        }
+        // Rounding leftovers go to the largest of them, one each.
+        for (int rank = 0; assigned < remaining; rank = (rank + 1) % others, assigned++) {
+            counts[order.get(hot + rank)]++;
+        }
+        return counts;
+    }
+
+    private AtomicIntegerArray insertTasks(List<Long> projectIds, long[] taskCounts)
+            throws InterruptedException, ExecutionException {
+        // Task ids come from a table generator, so they are assigned here and the generator is
+        // moved past them afterwards. Start clear of the ids it may already have handed out.
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM task", Long.class);
+        Long nextVal = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(next_val), 0) FROM " + Task.ID_GENERATOR_TABLE + " WHERE sequence_name = ?",
+                Long.class, Task.ID_GENERATOR_SEGMENT);
+        long firstId = Math.max(maxId, nextVal + Task.ID_ALLOCATION_SIZE) + 1;
+
+        List<Slice> slices = new ArrayList<>();
+        for (int p = 0; p < projectIds.size(); p++) {
+            for (long offset = 0; offset < taskCounts[p]; offset += SLICE_SIZE) {
+                slices.add(new Slice(p, projectIds.get(p), firstId, offset, Math.min(SLICE_SIZE, taskCounts[p] - offset)));
+            }
+            firstId += taskCounts[p];
+        }
+
+        AtomicIntegerArray completedCounts = new AtomicIntegerArray(projectIds.size());
+        AtomicLong inserted = new AtomicLong();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            List<Future<?>> results = new ArrayList<>(slices.size());
+            for (Slice slice : slices) {
+                results.add(executor.submit(() -> {
+                    completedCounts.addAndGet(slice.projectIndex(), insertSlice(slice));
+                    long done = inserted.addAndGet(slice.count());
+                    log.info("Inserted {} of {} tasks", done, tasks);
+                }));
+            }
+            try {
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (ExecutionException ex) {
+                executor.shutdownNow();
+                throw ex;
+            }
+        }
+        return completedCounts;
+    }
+
+    /**
+     * Inserts one slice of a project's tasks and returns how many of them are completed.
+     */
+    private int insertSlice(Slice slice) {
+        SplittableRandom random = new SplittableRandom(randomSeed ^ (slice.firstId() + slice.offset()));
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int completed = 0;
+        for (long i = slice.offset(); i < slice.offset() + slice.count(); i++) {
+            boolean done = random.nextDouble() < completedRatio;
+            if (done) {
+                completed++;
+            }
+            batch.add(new Object[]{
+                    slice.firstId() + i,
+                    "Task " + i,
+                    "Synthetic task " + i + " of project " + slice.projectId(),
+                    // One task in ten has no due date, the others fall within two months either way.
+                    random.nextInt(10) == 0 ? null : Date.valueOf(today.plusDays(random.nextInt(-60, 61))),
+                    done,
+                    Timestamp.valueOf(now.minusSeconds(random.nextLong(365L * 24 * 3600))),
+                    slice.projectId()
+            });
+            if (batch.size() == batchSize) {
+                insertTasks(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertTasks(batch);
+        }
+        return completed;
+    }
+
+    private void insertTasks(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO task (id, title, description, due_date, completed, created_at, project_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    // The counts are known, so the counters are set directly instead of reconciled from 10M rows.
+    private void updateCounters(List<Long> projectIds, long[] taskCounts, AtomicIntegerArray completedCounts) {
+        List<Object[]> rows = new ArrayList<>(projectIds.size());
+        for (int p = 0; p < projectIds.size(); p++) {
+            rows.add(new Object[]{taskCounts[p], completedCounts.get(p), projectIds.get(p)});
+        }
+        batchUpdate("UPDATE project SET total_tasks = ?, completed_tasks = ? WHERE id = ?", rows);
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private record Slice(int projectIndex, long projectId, long firstId, long offset, long count) {
+    }
+}
@@ -0,0 +1,54 @@
+package ma.ensa.projecttasksbackend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.entity.Task;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the task id generator past the highest task id on startup. Task ids used to come from
+ * AUTO_INCREMENT, so on an existing database the generator row would otherwise start at 1 and
+ * hand out ids that are already taken. Runs before the {@code CommandLineRunner}s and {@link DataLoader}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskIdGeneratorAligner {
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onStartup() {
+        align();
+    }
+
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM task", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        // Pooled ids are handed out from (next_val - allocation, next_val + allocation], stay clear of both ends.
+        long floor = maxId + Task.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update(
+                "UPDATE " + Task.ID_GENERATOR_TABLE + " SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                floor, Task.ID_GENERATOR_SEGMENT, floor);
+        if (updated == 0 && !segmentExists()) {
+            jdbcTemplate.update(
+                    "INSERT INTO " + Task.ID_GENERATOR_TABLE + " (sequence_name, next_val) VALUES (?, ?)",
+                    Task.ID_GENERATOR_SEGMENT, floor);
+            updated = 1;
+        }
+        if (updated > 0) {
+            log.info("Moved the task id generator to {}", floor);
+        }
+    }
+
+    private boolean segmentExists() {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + Task.ID_GENERATOR_TABLE + " WHERE sequence_name = ?",
+                Integer.class, Task.ID_GENERATOR_SEGMENT);
+        return rows != null && rows > 0;
+    }
+}
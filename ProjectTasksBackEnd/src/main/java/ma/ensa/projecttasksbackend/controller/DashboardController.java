@@ -0,0 +1,21 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.dashboard.DashboardResponseDTO;
+import ma.ensa.projecttasksbackend.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/dashboard")
+@RestController
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<DashboardResponseDTO> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
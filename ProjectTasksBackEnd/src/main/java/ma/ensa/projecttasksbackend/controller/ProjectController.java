@@ -2,9 +2,11 @@ package ma.ensa.projecttasksbackend.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
 import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
 import ma.ensa.projecttasksbackend.dto.project.CreateProjectDTO;
 import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
+import ma.ensa.projecttasksbackend.dto.project.ProjectSortField;
 import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
 import ma.ensa.projecttasksbackend.service.ProjectService;
 import org.springframework.data.domain.Page;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,14 +34,29 @@ public class ProjectController {
     @GetMapping
     public ResponseEntity<PagedResponse<ProjectResponseDTO>> getUserProjects(
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "CREATED_AT") ProjectSortField sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        Pageable pageable = PageRequest.of(page, size, sortBy.toSort(direction));
         PagedResponse<ProjectResponseDTO> projectsPage = projectService.getCurrentUserProjects(pageable);
         return ResponseEntity.ok(projectsPage);
     }
 
+    // Selected when the request carries a cursor parameter; send it empty for the first page.
+    // Cursor pages are always ordered by creation date, newest first.
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPagedResponse<ProjectResponseDTO>> getUserProjectsAfter(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") Integer size) {
+        return ResponseEntity.ok(projectService.getCurrentUserProjectsAfter(cursor, size));
+    }
+
+    // Answers 304 without a body when If-None-Match carries the project's current version.
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(String.valueOf(projectService.getProjectVersion(id)))) {
+            return null;
+        }
         return ResponseEntity.ok(projectService.getProjectById(id));
     }
 
@@ -0,0 +1,25 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.sync.SyncResponseDTO;
+import ma.ensa.projecttasksbackend.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/sync")
+@RestController
+@RequiredArgsConstructor
+public class SyncController {
+    private final SyncService syncService;
+
+    // Leave since empty for a full sync; answers 410 when the watermark is older than the retained deletions.
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> sync(
+            @RequestParam(defaultValue = "") String since,
+            @RequestParam(defaultValue = "500") Integer size) {
+        return ResponseEntity.ok(syncService.sync(since, size));
+    }
+}
@@ -2,20 +2,38 @@ package ma.ensa.projecttasksbackend.controller;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
 import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchResultDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskExportFormat;
 import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportFormat;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportJobDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskPatchDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.service.ProjectService;
+import ma.ensa.projecttasksbackend.service.TaskExportService;
+import ma.ensa.projecttasksbackend.service.TaskImportService;
 import ma.ensa.projecttasksbackend.service.TaskService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RequestMapping("/api")
@@ -23,28 +41,105 @@ import java.util.List;
 @AllArgsConstructor
 public class TaskController {
     private TaskService taskService;
+    private TaskExportService taskExportService;
+    private TaskImportService taskImportService;
+    private ProjectService projectService;
 
     @PostMapping("/projects/{projectId}/tasks")
     public ResponseEntity<TaskResponseDTO> createTask(@PathVariable Long projectId, @RequestBody @Valid TaskCreateDTO taskDTO) {
         return new ResponseEntity<>(taskService.createTask(projectId, taskDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping("/projects/{projectId}/tasks:batch")
+    public ResponseEntity<List<TaskResponseDTO>> createTasks(@PathVariable Long projectId, @RequestBody @Valid TaskBatchCreateDTO batch) {
+        return new ResponseEntity<>(taskService.createTasks(projectId, batch), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/projects/{projectId}/tasks:complete")
+    public ResponseEntity<TaskBatchResultDTO> completeTasks(@PathVariable Long projectId, @RequestBody @Valid TaskIdsDTO request) {
+        return ResponseEntity.ok(taskService.completeTasks(projectId, request));
+    }
+
+    @PostMapping("/projects/{projectId}/tasks:delete")
+    public ResponseEntity<TaskBatchResultDTO> deleteTasks(@PathVariable Long projectId, @RequestBody @Valid TaskIdsDTO request) {
+        return ResponseEntity.ok(taskService.deleteTasks(projectId, request));
+    }
+
+    // Answers 304 without a body when If-None-Match carries the project's current version; the
+    // ETag holds for every filter and page of the project, since any task write bumps it.
     @GetMapping("/projects/{projectId}/tasks")
     public ResponseEntity<PagedResponse<TaskResponseDTO>> getTasksByProject(
             @PathVariable Long projectId,
             @Valid @ModelAttribute TaskFilterDTO filter,
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            WebRequest request) {
+        if (request.checkNotModified(String.valueOf(projectService.getProjectVersion(projectId)))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         PagedResponse<TaskResponseDTO> tasksPage = taskService.getTasksByProject(projectId,filter, pageable);
         return ResponseEntity.ok(tasksPage);
     }
 
+    // Selected when the request carries a cursor parameter; send it empty for the first page.
+    @GetMapping(value = "/projects/{projectId}/tasks", params = "cursor")
+    public ResponseEntity<CursorPagedResponse<TaskResponseDTO>> getTasksByProjectAfter(
+            @PathVariable Long projectId,
+            @Valid @ModelAttribute TaskFilterDTO filter,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") Integer size) {
+        return ResponseEntity.ok(taskService.getTasksByProjectAfter(projectId, filter, cursor, size));
+    }
+
+    @GetMapping("/projects/{projectId}/tasks:export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @PathVariable Long projectId,
+            @Valid @ModelAttribute TaskFilterDTO filter,
+            @RequestParam(defaultValue = "NDJSON") TaskExportFormat format) {
+        StreamingResponseBody body = taskExportService.exportTasks(projectId, filter, format);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("project-" + projectId + "-tasks." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    // The raw body is the file to import; the job runs after the response and is polled at the Location.
+    @PostMapping("/projects/{projectId}/tasks:import")
+    public ResponseEntity<TaskImportJobDTO> importTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "NDJSON") TaskImportFormat format,
+            InputStream body) throws IOException {
+        TaskImportJobDTO job = taskImportService.importTasks(projectId, format, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/imports/" + job.id()))
+                .body(job);
+    }
+
+    @GetMapping("/imports/{jobId}")
+    public ResponseEntity<TaskImportJobDTO> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(taskImportService.getImport(jobId));
+    }
+
     @PutMapping("/tasks/{taskId}")
     public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable Long taskId, @RequestBody @Valid TaskUpdateDTO taskUpdateDTO) {
         return ResponseEntity.ok(taskService.updateTask(taskId, taskUpdateDTO));
     }
 
+    // Writes only the fields present in the body. The ETag is the task's version; sent back in
+    // If-Match, the patch answers 409 when the task changed since.
+    @PatchMapping("/tasks/{taskId}")
+    public ResponseEntity<TaskResponseDTO> patchTask(
+            @PathVariable Long taskId,
+            @RequestBody @Valid TaskPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO task = taskService.patchTask(taskId, patch, toVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(task.version())).body(task);
+    }
+
     @PatchMapping("/tasks/{taskId}/complete")
     public ResponseEntity<TaskResponseDTO> markAsCompleted(@PathVariable Long taskId) {
         return ResponseEntity.ok(taskService.markAsCompleted(taskId));
@@ -55,4 +150,20 @@ public class TaskController {
         taskService.deleteTask(taskId);
         return ResponseEntity.noContent().build();
     }
+
+    // No precondition for a missing header or *; a tag that is not a version matches none.
+    private static Long toVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import ma.ensa.projecttasksbackend.service.TaskEventBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Server-Sent Events streams of task changes, in place of polling the task listings. Each event is
+// named "task" and carries a TaskEventDTO; a client that falls behind is disconnected and reloads.
+@RequestMapping("/api")
+@RestController
+@RequiredArgsConstructor
+public class TaskEventController {
+    private final TaskEventBroadcaster taskEvents;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return taskEvents.subscribe(CurrentUser.id(), null);
+    }
+
+    @GetMapping(value = "/projects/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProjectEvents(@PathVariable Long projectId) {
+        return taskEvents.subscribe(CurrentUser.id(), projectId);
+    }
+}
@@ -0,0 +1,15 @@
+package ma.ensa.projecttasksbackend.dto.dashboard;
+
+import java.time.LocalDate;
+
+// Counts over all of the user's projects. The due buckets only count open tasks; dueThisWeek
+// runs from today to Sunday and includes dueToday.
+public record DashboardResponseDTO(
+        LocalDate date,
+        long totalTasks,
+        long completedTasks,
+        long overdueTasks,
+        long dueTodayTasks,
+        long dueThisWeekTasks
+) {
+}
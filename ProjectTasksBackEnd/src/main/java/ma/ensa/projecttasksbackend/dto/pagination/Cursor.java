@@ -0,0 +1,46 @@
+package ma.ensa.projecttasksbackend.dto.pagination;
+
+import ma.ensa.projecttasksbackend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page ordered by {@code createdAt DESC, id DESC}.
+ * Clients receive it as an opaque string and send it back unchanged.
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * Sorts before every stored row, so seeking past it returns the first page.
+     */
+    public static final Cursor START = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@link #START} for a blank value, which asks for the first page.
+     */
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+}
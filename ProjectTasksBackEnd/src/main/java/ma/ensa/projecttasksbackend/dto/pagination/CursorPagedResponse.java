@@ -0,0 +1,38 @@
+package ma.ensa.projecttasksbackend.dto.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of a keyset listing. Unlike {@link PagedResponse} it carries no totals, so no
+ * COUNT query is needed; {@code nextCursor} is null on the last page.
+ */
+public record CursorPagedResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean last
+) {
+    public static final int MAX_SIZE = 100;
+
+    // The requested page size, kept within 1..MAX_SIZE like the sync batch size.
+    public static int clampSize(int size) {
+        return Math.clamp(size, 1, MAX_SIZE);
+    }
+
+    /**
+     * Builds the page from rows fetched with a limit of {@code size + 1}: the extra row only
+     * tells whether another page exists and is not returned.
+     */
+    public static <E, T> CursorPagedResponse<T> of(
+            List<E> rows,
+            int size,
+            Function<E, Cursor> position,
+            Function<E, T> mapper
+    ) {
+        boolean last = rows.size() <= size;
+        List<E> page = last ? rows : rows.subList(0, size);
+        String nextCursor = last ? null : position.apply(page.get(page.size() - 1)).encode();
+        return new CursorPagedResponse<>(page.stream().map(mapper).toList(), size, nextCursor, last);
+    }
+}
@@ -0,0 +1,19 @@
+package ma.ensa.projecttasksbackend.dto.project;
+
+import org.springframework.data.domain.Sort;
+
+public enum ProjectSortField {
+    CREATED_AT("createdAt"),
+    PROGRESS("progress");
+
+    private final String property;
+
+    ProjectSortField(String property) {
+        this.property = property;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return this == CREATED_AT ? sort : sort.and(Sort.by("createdAt").descending());
+    }
+}
@@ -0,0 +1,22 @@
+package ma.ensa.projecttasksbackend.dto.sync;
+
+import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
+
+import java.util.List;
+
+/**
+ * One batch of changes, each list in id order. The tasks of a deleted project are not listed in
+ * {@code deletedTaskIds}; clients drop them with their project. Send {@code watermark} back as
+ * {@code since}: while {@code hasMore} is true it fetches the next batch of the same sync,
+ * afterwards the changes made since.
+ */
+public record SyncResponseDTO(
+        List<ProjectResponseDTO> projects,
+        List<TaskResponseDTO> tasks,
+        List<Long> deletedProjectIds,
+        List<Long> deletedTaskIds,
+        String watermark,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,70 @@
+package ma.ensa.projecttasksbackend.dto.sync;
+
+import ma.ensa.projecttasksbackend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * How far a client has synced. Between two syncs it only holds {@code since}, the database time
+ * up to which the client has every change. While a sync is split in batches it also holds the
+ * {@code until} bound fixed by the first batch and the last id returned of each kind, so that the
+ * next batch resumes where this one stopped. Clients receive it as an opaque string and send it
+ * back unchanged.
+ */
+public record SyncWatermark(
+        LocalDateTime since,
+        LocalDateTime until,
+        long afterProjectId,
+        long afterTaskId,
+        long afterTombstoneId
+) {
+
+    /**
+     * Precedes every row, so syncing from it returns everything the user has.
+     */
+    public static final SyncWatermark START = after(LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    private static final String SEPARATOR = "|";
+
+    public static SyncWatermark after(LocalDateTime since) {
+        return new SyncWatermark(since, null, 0, 0, 0);
+    }
+
+    public boolean isStart() {
+        return since.equals(START.since());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                since.toString(),
+                until == null ? "" : until.toString(),
+                String.valueOf(afterProjectId),
+                String.valueOf(afterTaskId),
+                String.valueOf(afterTombstoneId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@link #START} for a blank value, which asks for a full sync.
+     */
+    public static SyncWatermark decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|", -1);
+            return new SyncWatermark(
+                    LocalDateTime.parse(parts[0]),
+                    parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]),
+                    Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]),
+                    Long.parseLong(parts[4])
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Invalid sync watermark");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TaskBatchCreateDTO(
+        @NotEmpty(message = "At least one task is required")
+        @Size(max = TaskBatchCreateDTO.MAX_TASKS, message = "At most " + TaskBatchCreateDTO.MAX_TASKS + " tasks per batch")
+        List<@Valid TaskCreateDTO> tasks
+) {
+    public static final int MAX_TASKS = 1000;
+}
@@ -0,0 +1,7 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+public record TaskBatchResultDTO(
+        int requested,
+        int affected
+) {
+}
@@ -0,0 +1,12 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+// The task as committed, or null for deletions and PROJECT_CHANGED, where taskId is null as well
+// and count is the number of tasks the batch wrote.
+public record TaskEventDTO(
+        TaskEventType type,
+        Long projectId,
+        Long taskId,
+        TaskResponseDTO task,
+        int count
+) {
+}
@@ -0,0 +1,10 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    COMPLETED,
+    DELETED,
+    // A batch or an import chunk: one event for all of its tasks, which clients reload.
+    PROJECT_CHANGED
+}
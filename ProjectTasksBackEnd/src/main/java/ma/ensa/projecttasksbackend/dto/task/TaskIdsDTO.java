@@ -0,0 +1,14 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TaskIdsDTO(
+        @NotEmpty(message = "At least one task id is required")
+        @Size(max = TaskBatchCreateDTO.MAX_TASKS, message = "At most " + TaskBatchCreateDTO.MAX_TASKS + " tasks per batch")
+        List<@NotNull Long> taskIds
+) {
+}
@@ -0,0 +1,11 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+/**
+ * A row left out of an import. {@code row} is the line number for NDJSON and the record number,
+ * header excluded, for CSV.
+ */
+public record TaskImportErrorDTO(
+        long row,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+/**
+ * Body formats accepted by the task import: one JSON object per line, or CSV with a header row
+ * naming the {@code title}, {@code description} and {@code dueDate} columns. Both match the
+ * output of the export, whose extra fields are ignored.
+ */
+public enum TaskImportFormat {
+    NDJSON,
+    CSV
+}
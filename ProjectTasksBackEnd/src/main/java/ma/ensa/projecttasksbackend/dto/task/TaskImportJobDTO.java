@@ -0,0 +1,23 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an import. {@code failed} counts every rejected row while {@code errors} keeps the
+ * first ones only; {@code message} explains a {@link TaskImportStatus#FAILED} job.
+ */
+public record TaskImportJobDTO(
+        String id,
+        Long projectId,
+        TaskImportFormat format,
+        TaskImportStatus status,
+        long rowsRead,
+        long imported,
+        long failed,
+        List<TaskImportErrorDTO> errors,
+        String message,
+        LocalDateTime submittedAt,
+        LocalDateTime finishedAt
+) {
+}
@@ -0,0 +1,8 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+public enum TaskImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,40 @@
+package ma.ensa.projecttasksbackend.dto.task;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+
+import java.util.Date;
+
+// Body of PATCH /api/tasks/{id}. Jackson calls a setter only for a field present in the body, so a
+// field left out stays unset and the task keeps its value. description and dueDate are cleared by an
+// explicit null; a null title or completed is ignored.
+@Getter
+public class TaskPatchDTO {
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title is required")
+    private String title;
+    private String description;
+    @FutureOrPresent(message = "Due date must be in the present or future")
+    private Date dueDate;
+    private Boolean completed;
+    private boolean descriptionSet;
+    private boolean dueDateSet;
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionSet = true;
+    }
+
+    public void setDueDate(Date dueDate) {
+        this.dueDate = dueDate;
+        this.dueDateSet = true;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -10,6 +10,7 @@ public record TaskResponseDTO(
     boolean isCompleted,
     Date dueDate,
     Long projectId,
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+    long version
 ) {
 }
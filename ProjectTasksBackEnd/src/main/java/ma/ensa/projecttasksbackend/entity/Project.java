@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,7 +16,14 @@ import java.util.List;
 @Entity
 @Builder
 @Data @AllArgsConstructor @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_project_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_project_user_updated", columnList = "user_id, updated_at")
+})
+// Not in the second-level cache: every task write adjusts the counters with a bulk update, which
+// would empty the whole region, and ownership checks are queries that would not read it anyway.
 public class Project {
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -27,11 +35,35 @@ public class Project {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    // Set by the database on every insert and update, the counter adjustments included, like
+    // Task.updatedAt; only the sync queries read it.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    // Maintained by TaskService through ProjectRepository.adjustTaskCounters and repaired by
+    // TaskCounterReconciler; never written by a regular entity update so they cannot go stale.
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private int totalTasks = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private int completedTasks = 0;
+
+    // Bumped in the same bulk updates as the counters, never by an entity update; the ETag of the
+    // project and of its task list. Not a JPA @Version: those bulk updates would not check it.
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private long version = 0;
+
+    @Formula("CASE WHEN total_tasks = 0 THEN 0 ELSE completed_tasks * 100.0 / total_tasks END")
+    private double progress;
+
     @OneToMany(
             mappedBy = "project",
             cascade = CascadeType.ALL,
             orphanRemoval = true,
-            fetch = FetchType.EAGER
+            fetch = FetchType.LAZY
     )
     private List<Task> tasks;
 
@@ -7,7 +7,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
@@ -15,10 +18,34 @@ import java.util.Date;
 
 @Entity
 @Data @AllArgsConstructor @NoArgsConstructor @Builder
-
+// Serve the per-project listing in both offset and keyset mode (createdAt DESC, id DESC), with and
+// without the completed filter, and the changes read by GET /api/sync. Created by the Flyway
+// migrations in db/migration.
+@Table(indexes = {
+        @Index(name = "idx_task_project_created", columnList = "project_id, created_at, id, due_date"),
+        @Index(name = "idx_task_project_completed_created", columnList = "project_id, completed, created_at, id, due_date"),
+        @Index(name = "idx_task_project_updated", columnList = "project_id, updated_at")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
+// Updates write the changed columns only, so that a PATCH of one field leaves the others alone.
+@DynamicUpdate
 public class Task {
+    public static final String ID_GENERATOR_TABLE = "id_generator";
+    public static final String ID_GENERATOR_SEGMENT = "task";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled table generator instead of IDENTITY so that Hibernate can batch task inserts;
+    // TaskIdGeneratorAligner keeps it ahead of ids assigned by AUTO_INCREMENT before the switch.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(
+            name = "task_id",
+            table = ID_GENERATOR_TABLE,
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = ID_GENERATOR_SEGMENT,
+            allocationSize = ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     private String title;
@@ -31,6 +58,14 @@ public class Task {
     private boolean completed = false;
     @CreationTimestamp
     private LocalDateTime createdAt;
+    // Set by the database on every insert and update (V5__sync.sql), so never written from here
+    // and not refreshed after a write; only the sync queries read it.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+    // Checked by every entity update, completions included, so that concurrent edits of a task
+    // fail instead of overwriting each other.
+    @Version
+    private long version;
     @ManyToOne(fetch = FetchType.LAZY)
     private Project project;
 
@@ -0,0 +1,44 @@
+package ma.ensa.projecttasksbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that a project or task was deleted, so that GET /api/sync can tell clients which rows
+ * to drop. Written by {@link ma.ensa.projecttasksbackend.repository.TombstoneRepository} in the
+ * transaction of the delete. The user id is a plain column: it must outlive the project.
+ */
+@Entity
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+@Table(indexes = {
+        @Index(name = "idx_tombstone_user_deleted", columnList = "user_id, deleted_at"),
+        @Index(name = "idx_tombstone_deleted", columnList = "deleted_at")
+})
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // A VARCHAR column; Hibernate would otherwise expect a MySQL ENUM when validating the schema.
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private TombstoneType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // Set by the database, on the same clock as Project.updatedAt and Task.updatedAt.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,6 @@
+package ma.ensa.projecttasksbackend.entity;
+
+public enum TombstoneType {
+    PROJECT,
+    TASK
+}
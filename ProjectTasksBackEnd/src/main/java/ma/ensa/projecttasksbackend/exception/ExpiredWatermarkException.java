@@ -0,0 +1,7 @@
+package ma.ensa.projecttasksbackend.exception;
+
+public class ExpiredWatermarkException extends RuntimeException {
+    public ExpiredWatermarkException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ma.ensa.projecttasksbackend.exception;
+
+public class ImportCapacityExceededException extends RuntimeException {
+    public ImportCapacityExceededException(String message) {
+        super(message);
+    }
+}
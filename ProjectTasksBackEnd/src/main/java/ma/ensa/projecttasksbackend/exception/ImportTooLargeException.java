@@ -0,0 +1,7 @@
+package ma.ensa.projecttasksbackend.exception;
+
+public class ImportTooLargeException extends RuntimeException {
+    public ImportTooLargeException(String message) {
+        super(message);
+    }
+}
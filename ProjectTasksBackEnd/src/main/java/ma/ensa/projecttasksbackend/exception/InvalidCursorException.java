@@ -0,0 +1,7 @@
+package ma.ensa.projecttasksbackend.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
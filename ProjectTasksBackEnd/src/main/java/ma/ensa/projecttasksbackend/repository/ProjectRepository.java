@@ -1,14 +1,93 @@
 package ma.ensa.projecttasksbackend.repository;
 
+import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
 import ma.ensa.projecttasksbackend.entity.Project;
-import ma.ensa.projecttasksbackend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project,Long> {
-    Page<Project> findByUser(User user, Pageable pageable);
+    // Filters on the user_id column; derived from the method name, the query joined user to read its id.
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId")
+    Page<Project> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset variant of findByUserId ordered by creation date, seeking on idx_project_user_created.
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId " +
+            "AND p.createdAt <= :afterCreatedAt AND (p.createdAt < :afterCreatedAt OR p.id < :afterId) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Projects of the user changed in (since, until], counter adjustments included; see TaskRepository.findChangedBetween.
+    @Query("SELECT new ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO(" +
+            "p.id, p.title, p.description, p.createdAt, p.totalTasks, p.completedTasks, p.progress) " +
+            "FROM Project p WHERE p.user.id = :userId " +
+            "AND p.updatedAt > :since AND p.updatedAt <= :until AND p.id > :afterId ORDER BY p.id")
+    List<ProjectResponseDTO> findChangedBetween(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Ownership checks, one lookup on the primary key filtered on the user_id column.
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Project> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(p) > 0 FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    boolean existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // A bulk update like adjustTaskCounters, so that it never writes back counters the caller read
+    // before a concurrent task write changed them.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.title = :title, p.description = :description, p.version = p.version + 1 " +
+            "WHERE p.id = :projectId AND p.user.id = :userId")
+    int updateDetails(
+            @Param("projectId") Long projectId,
+            @Param("userId") Long userId,
+            @Param("title") String title,
+            @Param("description") String description
+    );
+
+    // Tasks are removed beforehand with TaskRepository.deleteAllByProjectId, so the cascade has nothing to load.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Project p WHERE p.id = :projectId")
+    int deleteWithoutCascade(@Param("projectId") Long projectId);
+
+    // Called by every task write, with zero deltas when the counters do not change, so that it
+    // also bumps the project's version.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Project p SET p.totalTasks = p.totalTasks + :totalDelta, " +
+            "p.completedTasks = p.completedTasks + :completedDelta, p.version = p.version + 1 " +
+            "WHERE p.id = :projectId")
+    int adjustTaskCounters(
+            @Param("projectId") Long projectId,
+            @Param("totalDelta") int totalDelta,
+            @Param("completedDelta") int completedDelta
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET " +
+            "p.totalTasks = (SELECT COUNT(t) FROM Task t WHERE t.project = p), " +
+            "p.completedTasks = (SELECT COUNT(t) FROM Task t WHERE t.project = p AND t.completed = true), " +
+            "p.version = p.version + 1 " +
+            "WHERE p.totalTasks <> (SELECT COUNT(t) FROM Task t WHERE t.project = p) " +
+            "OR p.completedTasks <> (SELECT COUNT(t) FROM Task t WHERE t.project = p AND t.completed = true)")
+    int reconcileTaskCounters();
 }
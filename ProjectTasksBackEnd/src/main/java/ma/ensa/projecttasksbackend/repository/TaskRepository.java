@@ -1,30 +1,142 @@
 package ma.ensa.projecttasksbackend.repository;
 
-import ma.ensa.projecttasksbackend.entity.Project;
+import jakarta.persistence.QueryHint;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
 import ma.ensa.projecttasksbackend.entity.Task;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task,Long> {
-
-    @Query("SELECT t FROM Task t WHERE t.project = :project " +
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
             "AND (:query IS NULL OR (LOWER(t.title) LIKE :query OR LOWER(t.description) LIKE :query)) " +
             "AND (:completed IS NULL OR t.completed = :completed) " +
             "AND (:dueDateFrom IS NULL OR t.dueDate >= :dueDateFrom) " +
             "AND (:dueDateTo IS NULL OR t.dueDate <= :dueDateTo)")
     Page<Task> findByProject(
-            @Param("project") Project project,
+            @Param("projectId") Long projectId,
             @Param("query") String query,
             @Param("completed") Boolean completed,
             @Param("dueDateFrom") Date dueDateFrom,
             @Param("dueDateTo") Date dueDateTo,
             Pageable pageable
     );
+
+    // Keyset variant of findByProject: seeks past (afterCreatedAt, afterId) instead of skipping rows,
+    // and never issues a COUNT. The leading createdAt <= bound keeps the seek a range on idx_task_project_created.
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+            "AND (:query IS NULL OR (LOWER(t.title) LIKE :query OR LOWER(t.description) LIKE :query)) " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND (:dueDateFrom IS NULL OR t.dueDate >= :dueDateFrom) " +
+            "AND (:dueDateTo IS NULL OR t.dueDate <= :dueDateTo) " +
+            "AND t.createdAt <= :afterCreatedAt AND (t.createdAt < :afterCreatedAt OR t.id < :afterId) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findByProjectAfter(
+            @Param("projectId") Long projectId,
+            @Param("query") String query,
+            @Param("completed") Boolean completed,
+            @Param("dueDateFrom") Date dueDateFrom,
+            @Param("dueDateTo") Date dueDateTo,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Columns TaskSearchIndex needs to index a project, without hydrating entities.
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.completed AS completed, " +
+            "t.dueDate AS dueDate, t.createdAt AS createdAt FROM Task t WHERE t.project.id = :projectId")
+    List<TaskRow> findSearchRowsByProjectId(@Param("projectId") Long projectId);
+
+    // One chunk of an export: same filters and order as findByProject, seeking past (afterCreatedAt,
+    // afterId) like findByProjectAfter. Rows are projections, so nothing accumulates in the
+    // persistence context.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.completed AS completed, " +
+            "t.dueDate AS dueDate, t.createdAt AS createdAt, t.version AS version FROM Task t WHERE t.project.id = :projectId " +
+            "AND (:query IS NULL OR (LOWER(t.title) LIKE :query OR LOWER(t.description) LIKE :query)) " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND (:dueDateFrom IS NULL OR t.dueDate >= :dueDateFrom) " +
+            "AND (:dueDateTo IS NULL OR t.dueDate <= :dueDateTo) " +
+            "AND t.createdAt <= :afterCreatedAt AND (t.createdAt < :afterCreatedAt OR t.id < :afterId) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskRow> findExportRowsAfter(
+            @Param("projectId") Long projectId,
+            @Param("query") String query,
+            @Param("completed") Boolean completed,
+            @Param("dueDateFrom") Date dueDateFrom,
+            @Param("dueDateTo") Date dueDateTo,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    interface TaskRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        boolean isCompleted();
+        Date getDueDate();
+        LocalDateTime getCreatedAt();
+        // Selected by findExportRowsAfter only.
+        long getVersion();
+    }
+
+    // Tasks of the user changed in (since, until], as DTOs so that no entity is hydrated. Ranges
+    // over idx_task_project_updated per project; only the changed rows are sorted by id.
+    @Query("SELECT new ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO(" +
+            "t.id, t.title, t.description, t.completed, t.dueDate, p.id, t.createdAt, t.version) " +
+            "FROM Task t JOIN t.project p WHERE p.user.id = :userId " +
+            "AND t.updatedAt > :since AND t.updatedAt <= :until AND t.id > :afterId ORDER BY t.id")
+    List<TaskResponseDTO> findChangedBetween(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    Optional<Task> findByIdAndProjectUserId(Long id, Long userId);
+
+    // Every bucket in one pass over the user's tasks. Projects are found through idx_project_user_created,
+    // then each project's tasks are read from idx_task_project_completed_created alone: it holds
+    // completed and due_date, so no task row is touched.
+    @Query("SELECT COUNT(t) AS total, " +
+            "COALESCE(SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), 0) AS completed, " +
+            "COALESCE(SUM(CASE WHEN t.completed = false AND t.dueDate < :today THEN 1 ELSE 0 END), 0) AS overdue, " +
+            "COALESCE(SUM(CASE WHEN t.completed = false AND t.dueDate = :today THEN 1 ELSE 0 END), 0) AS dueToday, " +
+            "COALESCE(SUM(CASE WHEN t.completed = false AND t.dueDate >= :today AND t.dueDate <= :endOfWeek THEN 1 ELSE 0 END), 0) AS dueThisWeek " +
+            "FROM Task t JOIN t.project p WHERE p.user.id = :userId")
+    DashboardCounts countForDashboard(@Param("userId") Long userId, @Param("today") Date today, @Param("endOfWeek") Date endOfWeek);
+
+    interface DashboardCounts {
+        long getTotal();
+        long getCompleted();
+        long getOverdue();
+        long getDueToday();
+        long getDueThisWeek();
+    }
+
+    // Loaded to be completed or deleted as entities: a bulk statement would empty the whole task region.
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.id IN :taskIds")
+    List<Task> findAllByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("taskIds") Collection<Long> taskIds);
+
+    // Bulk on purpose, unlike the batch endpoints: a project has no bound on its tasks, so loading
+    // them all would cost more than emptying the task region once per deleted project.
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
 }
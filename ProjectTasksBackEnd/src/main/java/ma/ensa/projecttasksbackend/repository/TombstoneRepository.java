@@ -0,0 +1,50 @@
+package ma.ensa.projecttasksbackend.repository;
+
+import ma.ensa.projecttasksbackend.entity.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // HQL inserts rather than native ones: a native statement would empty every second-level cache
+    // region, since Hibernate cannot tell which tables it touches. Run before the rows are deleted.
+    @Modifying
+    @Query("INSERT INTO Tombstone (userId, entityType, entityId) " +
+            "SELECT :userId, ma.ensa.projecttasksbackend.entity.TombstoneType.TASK, t.id FROM Task t " +
+            "WHERE t.project.id = :projectId AND t.id IN :taskIds")
+    int recordTasks(
+            @Param("userId") Long userId,
+            @Param("projectId") Long projectId,
+            @Param("taskIds") Collection<Long> taskIds
+    );
+
+    @Modifying
+    @Query("INSERT INTO Tombstone (userId, entityType, entityId) " +
+            "SELECT :userId, ma.ensa.projecttasksbackend.entity.TombstoneType.PROJECT, p.id FROM Project p " +
+            "WHERE p.id = :projectId")
+    int recordProject(@Param("userId") Long userId, @Param("projectId") Long projectId);
+
+    // Same window and id order as the sync queries of ProjectRepository and TaskRepository.
+    @Query("SELECT t FROM Tombstone t WHERE t.userId = :userId " +
+            "AND t.deletedAt > :since AND t.deletedAt <= :until AND t.id > :afterId ORDER BY t.id")
+    List<Tombstone> findDeletedBetween(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
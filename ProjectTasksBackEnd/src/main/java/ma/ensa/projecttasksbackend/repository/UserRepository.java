@@ -1,12 +1,18 @@
 package ma.ensa.projecttasksbackend.repository;
 
+import jakarta.persistence.QueryHint;
 import ma.ensa.projecttasksbackend.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User,Long> {
+    // Read on every login, and on every request when jwt.stateless is off. Cached with the user's
+    // id; any insert into user, a registration, invalidates the cached results.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 }
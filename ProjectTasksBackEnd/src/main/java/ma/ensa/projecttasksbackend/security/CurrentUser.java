@@ -0,0 +1,29 @@
+package ma.ensa.projecttasksbackend.security;
+
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Access to the user authenticated by {@link JwtAuthenticationFilter} for the current request.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    public static Long id() {
+        return find().orElseThrow(() -> new AuthenticationCredentialsNotFoundException("No authenticated user"));
+    }
+
+    // For code that also runs outside requests: background jobs, streamed responses, startup.
+    public static Optional<Long> find() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return Optional.of(principal.getId());
+        }
+        return Optional.empty();
+    }
+}
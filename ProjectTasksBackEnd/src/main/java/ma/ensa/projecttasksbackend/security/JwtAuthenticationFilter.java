@@ -1,10 +1,14 @@
 package ma.ensa.projecttasksbackend.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,13 +18,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String TIMER = "security.jwt.filter";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    // When enabled, the principal comes from the verified token claims and the user table is only
+    // read for tokens that do not carry a user id. Off by default: a deleted or renamed user would
+    // keep authenticating with the old claims until the token expires.
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -39,12 +53,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUserEmail(jwt);
+        Timer.Sample parse = Timer.start(meterRegistry);
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(jwt);
+        } catch (RuntimeException ex) {
+            parse.stop(timer("parse", "INVALID", "token"));
+            throw ex;
+        }
+        parse.stop(timer("parse", "SUCCESS", "token"));
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            Optional<UserPrincipal> fromClaims = stateless ? jwtService.extractPrincipal(claims) : Optional.empty();
+            String source = fromClaims.isPresent() ? "claims" : "database";
+            Timer.Sample lookup = Timer.start(meterRegistry);
+            UserDetails userDetails;
+            try {
+                userDetails = fromClaims.isPresent()
+                        ? fromClaims.get()
+                        : this.userDetailsService.loadUserByUsername(userEmail);
+            } catch (RuntimeException ex) {
+                lookup.stop(timer("lookup", "ERROR", source));
+                throw ex;
+            }
+            lookup.stop(timer("lookup", "SUCCESS", source));
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -57,4 +92,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    // phase is parse (signature and claims) or lookup (principal), source where the principal came from.
+    private Timer timer(String phase, String outcome, String source) {
+        return Timer.builder(TIMER)
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .tag("source", source)
+                .register(meterRegistry);
+    }
 }
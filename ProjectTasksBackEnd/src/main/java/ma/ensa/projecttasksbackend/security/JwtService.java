@@ -1,58 +1,101 @@
 package ma.ensa.projecttasksbackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import ma.ensa.projecttasksbackend.entity.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String FULL_NAME_CLAIM = "fullName";
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final long expiration;
+    private final Key signInKey;
+    private final JwtParser parser;
+
+    // Claims of tokens whose signature was already verified, dropped when the token expires.
+    // Null when jwt.cache.max-size is 0.
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long expiration,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize
+    ) {
+        this.expiration = expiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(this.signInKey)
+                .build();
+        this.verifiedTokens = cacheMaxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((String token, Claims claims) -> timeToLive(claims)))
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
         if (userDetails instanceof UserPrincipal customUser) {
-            extraClaims.put("userId", customUser.getId());
-            extraClaims.put("fullName", customUser.getFullName());
+            extraClaims.put(USER_ID_CLAIM, customUser.getId());
+            extraClaims.put(FULL_NAME_CLAIM, customUser.getFullName());
         }
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + this.expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(this.signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userEmail = extractUserEmail(token);
-        return (userEmail.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
     public String extractUserEmail(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Rebuilds the principal from the claims embedded by {@link #generateToken} so the request
+     * can be authenticated without reading the user table. Empty for tokens issued without a user id.
+     */
+    public Optional<UserPrincipal> extractPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserPrincipal(User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .fullName(claims.get(FULL_NAME_CLAIM, String.class))
+                .build()));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -60,16 +103,32 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token signature and returns its claims. A token is verified at most once
+     * while it stays in the cache; later calls for the same token return the cached claims.
+     */
+    public Claims extractAllClaims(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        return verifiedTokens.get(token, this::parse);
+    }
+
+    // Verifies the signature on every call, without reading or filling the cache. StartupWarmUp
+    // uses it to get the parser compiled without caching tokens of its own.
+    public Claims verify(String token) {
+        return parse(token);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(this.secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Duration timeToLive(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ZERO;
+        }
+        long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(millisLeft, 0));
     }
 }
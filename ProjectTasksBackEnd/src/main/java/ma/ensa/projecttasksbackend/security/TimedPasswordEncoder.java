@@ -0,0 +1,49 @@
+package ma.ensa.projecttasksbackend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times hashing and verification of the delegate, by design the slowest step of registration
+ * and login. Verification is tagged with whether the password matched.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    public static final String TIMER = "security.password.encoder";
+
+    private final PasswordEncoder delegate;
+    private final MeterRegistry meterRegistry;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String encoded = delegate.encode(rawPassword);
+        sample.stop(timer("encode", "SUCCESS"));
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        sample.stop(timer("matches", matches ? "MATCH" : "MISMATCH"));
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder(TIMER)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -9,10 +9,12 @@ import ma.ensa.projecttasksbackend.entity.User;
 import ma.ensa.projecttasksbackend.exception.UserAlreadyExistsException;
 import ma.ensa.projecttasksbackend.repository.UserRepository;
 import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +25,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
 
+    @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
         if (userRepository.findByEmail(request.email()).isPresent()) {
             throw new UserAlreadyExistsException("Email " + request.email() + " is already registered.");
@@ -36,12 +39,14 @@ public class AuthService {
 
         userRepository.save(user);
 
-        String jwtToken = jwtService.generateToken(new org.springframework.security.core.userdetails.User(
-                user.getEmail(), user.getPassword(), java.util.Collections.emptyList()));
+        String jwtToken = jwtService.generateToken(new UserPrincipal(user));
 
         return new AuthResponseDTO(jwtToken, "Bearer", user.getId());
     }
 
+    // Read-write so that the lookups go to the primary: a user who just registered is not on
+    // the replica yet, and login is when they are not known to be sticky.
+    @Transactional
     public AuthResponseDTO login(LoginRequestDTO request) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
@@ -50,8 +55,7 @@ public class AuthService {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow();
 
-        String jwtToken = jwtService.generateToken(new org.springframework.security.core.userdetails.User(
-                user.getEmail(), user.getPassword(), java.util.Collections.emptyList()));
+        String jwtToken = jwtService.generateToken(new UserPrincipal(user));
 
         return new AuthResponseDTO(jwtToken, "Bearer", user.getId());
     }
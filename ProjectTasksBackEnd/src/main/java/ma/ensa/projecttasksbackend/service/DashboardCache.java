@@ -0,0 +1,41 @@
+package ma.ensa.projecttasksbackend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.projecttasksbackend.dto.dashboard.DashboardResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * A user's dashboard, as returned by {@link DashboardService#getDashboard}.
+ * <p>
+ * A {@link UserGenerationCache} like {@link ProjectPageCache}: any task write of the user drops
+ * the user's dashboards once it commits. The date is the key, so the due buckets roll over at
+ * midnight. Entries expire after {@code dashboard.cache.expire-after-write}. Hits and misses are
+ * exported as {@code cache.gets{cache="dashboard"}}.
+ */
+@Component
+public class DashboardCache {
+    public static final String NAME = "dashboard";
+
+    private final UserGenerationCache<LocalDate, DashboardResponseDTO> dashboards;
+
+    public DashboardCache(
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.cache.max-size:10000}") long maxSize,
+            @Value("${dashboard.cache.expire-after-write:PT5M}") Duration expireAfterWrite
+    ) {
+        this.dashboards = new UserGenerationCache<>(meterRegistry, NAME, maxSize, expireAfterWrite);
+    }
+
+    public DashboardResponseDTO get(Long userId, LocalDate date, Supplier<DashboardResponseDTO> loader) {
+        return dashboards.get(userId, date, loader);
+    }
+
+    public void evictAfterCommit(Long userId) {
+        dashboards.evictAfterCommit(userId);
+    }
+}
@@ -0,0 +1,40 @@
+package ma.ensa.projecttasksbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.dashboard.DashboardResponseDTO;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+    private final TaskRepository taskRepository;
+    private final DashboardCache dashboardCache;
+
+    @Transactional(readOnly = true)
+    public DashboardResponseDTO getDashboard() {
+        Long userId = CurrentUser.id();
+        LocalDate today = LocalDate.now();
+        return dashboardCache.get(userId, today, () -> loadDashboard(userId, today));
+    }
+
+    private DashboardResponseDTO loadDashboard(Long userId, LocalDate today) {
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        TaskRepository.DashboardCounts counts = taskRepository.countForDashboard(userId, Date.valueOf(today), Date.valueOf(endOfWeek));
+        return new DashboardResponseDTO(
+                today,
+                counts.getTotal(),
+                counts.getCompleted(),
+                counts.getOverdue(),
+                counts.getDueToday(),
+                counts.getDueThisWeek()
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package ma.ensa.projecttasksbackend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Pages of a user's project listing, as returned by {@link ProjectService#getCurrentUserProjects}.
+ * <p>
+ * A {@link UserGenerationCache}: a project or task write of the user drops all of the user's pages
+ * once it commits. Entries expire after {@code projects.page-cache.expire-after-write}. Hits and
+ * misses are exported as {@code cache.gets{cache="projects.pages"}}.
+ */
+@Component
+public class ProjectPageCache {
+    public static final String NAME = "projects.pages";
+
+    private final UserGenerationCache<PageKey, PagedResponse<ProjectResponseDTO>> pages;
+
+    public ProjectPageCache(
+            MeterRegistry meterRegistry,
+            @Value("${projects.page-cache.max-size:10000}") long maxSize,
+            @Value("${projects.page-cache.expire-after-write:PT5M}") Duration expireAfterWrite
+    ) {
+        this.pages = new UserGenerationCache<>(meterRegistry, NAME, maxSize, expireAfterWrite);
+    }
+
+    public PagedResponse<ProjectResponseDTO> get(Long userId, Pageable pageable, Supplier<PagedResponse<ProjectResponseDTO>> loader) {
+        return pages.get(userId, new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()), loader);
+    }
+
+    public void evictAfterCommit(Long userId) {
+        pages.evictAfterCommit(userId);
+    }
+
+    public void evictAll() {
+        pages.evictAllAfterCommit();
+    }
+
+    private record PageKey(int page, int size, Sort sort) {
+    }
+}
@@ -1,34 +1,43 @@
 package ma.ensa.projecttasksbackend.service;
 
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.pagination.Cursor;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
 import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
 import ma.ensa.projecttasksbackend.dto.project.CreateProjectDTO;
 import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
 import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
 import ma.ensa.projecttasksbackend.entity.Project;
-import ma.ensa.projecttasksbackend.entity.Task;
 import ma.ensa.projecttasksbackend.entity.User;
 import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.TombstoneRepository;
 import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final UserRepository userRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ProjectPageCache projectPageCache;
+    private final DashboardCache dashboardCache;
+    private final TaskEventBroadcaster taskEvents;
 
     @Transactional
     public ProjectResponseDTO createProject( CreateProjectDTO projectDTO) {
-        var user = this.getCurrentUser();
+        User user = userRepository.getReferenceById(CurrentUser.id());
 
         Project project = Project.builder()
                 .title(projectDTO.title())
@@ -37,12 +46,18 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        projectPageCache.evictAfterCommit(user.getId());
         return mapToDTO(savedProject);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<ProjectResponseDTO> getCurrentUserProjects(Pageable pageable) {
-        User user = getCurrentUser();
-        Page<Project> projectsPage = projectRepository.findByUser(user, pageable);
+        Long userId = CurrentUser.id();
+        return projectPageCache.get(userId, pageable, () -> loadProjects(userId, pageable));
+    }
+
+    private PagedResponse<ProjectResponseDTO> loadProjects(Long userId, Pageable pageable) {
+        Page<Project> projectsPage = projectRepository.findByUserId(userId, pageable);
         List<ProjectResponseDTO> projects = projectsPage.getContent()
                 .stream()
                 .map(this::mapToDTO)
@@ -56,41 +71,62 @@ public class ProjectService {
                 projectsPage.isLast()
         );
     }
+
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ProjectResponseDTO> getCurrentUserProjectsAfter(String cursor, int requestedSize) {
+        int size = CursorPagedResponse.clampSize(requestedSize);
+        Cursor after = Cursor.decode(cursor);
+        List<Project> projects = projectRepository.findByUserIdAfter(
+                CurrentUser.id(),
+                after.createdAt(),
+                after.id(),
+                Limit.of(size + 1)
+        );
+        return CursorPagedResponse.of(projects, size, project -> new Cursor(project.getCreatedAt(), project.getId()), this::mapToDTO);
+    }
+
+    @Transactional(readOnly = true)
     public ProjectResponseDTO getProjectById(Long id) {
         Project project = this.getProjectEntityInternal(id);
         return mapToDTO(project);
     }
 
+    // The ownership check alone; no task is loaded.
+    @Transactional(readOnly = true)
+    public long getProjectVersion(Long id) {
+        return this.getProjectEntityInternal(id).getVersion();
+    }
+
     @Transactional
     public ProjectResponseDTO updateProject(Long id, UpdateProjectDTO updateProjectDTO) {
-        Project project = this.getProjectEntityInternal(id);
-        project.setTitle(updateProjectDTO.title());
-        project.setDescription(updateProjectDTO.description());
-        Project updatedProject = projectRepository.save(project);
-        return mapToDTO(updatedProject);
+        if (projectRepository.updateDetails(id, CurrentUser.id(), updateProjectDTO.title(), updateProjectDTO.description()) == 0) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+        projectPageCache.evictAfterCommit(CurrentUser.id());
+        return mapToDTO(this.getProjectEntityInternal(id));
     }
 
     @Transactional
     public void deleteProject(Long id) {
-        Project project = this.getProjectEntityInternal(id);
-        projectRepository.delete(project);
+        if (!projectRepository.existsByIdAndUserId(id, CurrentUser.id())) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+        // Stands for the project's tasks too, which get no tombstone of their own.
+        tombstoneRepository.recordProject(CurrentUser.id(), id);
+        taskRepository.deleteAllByProjectId(id);
+        projectRepository.deleteWithoutCascade(id);
+        taskSearchIndex.evictAfterCommit(id);
+        projectPageCache.evictAfterCommit(CurrentUser.id());
+        dashboardCache.evictAfterCommit(CurrentUser.id());
+        taskEvents.closeProjectAfterCommit(CurrentUser.id(), id);
     }
     private Project getProjectEntityInternal(Long projectId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return projectRepository.findById(projectId)
-                .filter(p -> p.getUser().getEmail().equals(email))
+        return projectRepository.findByIdAndUserId(projectId, CurrentUser.id())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
     }
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-    }
     private ProjectResponseDTO mapToDTO(Project project) {
-        List<Task> tasks = project.getTasks();
-        int totalTasks = tasks == null ? 0 : tasks.size();
-        int completedTasks = tasks == null ? 0 : (int) tasks.stream()
-                .filter(Task::isCompleted).count();
+        int totalTasks = project.getTotalTasks();
+        int completedTasks = project.getCompletedTasks();
 
         double progress = totalTasks == 0 ? 0.0 : ((double) completedTasks / totalTasks) * 100;
 
@@ -0,0 +1,129 @@
+package ma.ensa.projecttasksbackend.service;
+
+import jakarta.persistence.EntityManager;
+import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
+import ma.ensa.projecttasksbackend.dto.sync.SyncResponseDTO;
+import ma.ensa.projecttasksbackend.dto.sync.SyncWatermark;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
+import ma.ensa.projecttasksbackend.entity.Tombstone;
+import ma.ensa.projecttasksbackend.entity.TombstoneType;
+import ma.ensa.projecttasksbackend.exception.ExpiredWatermarkException;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.TombstoneRepository;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The projects and tasks of the current user changed since a {@link SyncWatermark}, and the ones
+ * deleted, in batches of at most {@code size} rows of each kind, so that a resync costs what
+ * changed rather than what the user has.
+ * <p>
+ * A sync covers the changes up to the database time of its first batch minus
+ * {@code sync.settle-time}. Rows are stamped when the statement runs but only seen once the
+ * transaction commits; holding back the last moments keeps a transaction still in flight from
+ * being stamped before a watermark it was not visible to. The settle time must exceed the longest
+ * write transaction and, with a read replica, the replica's maximum lag.
+ */
+@Service
+public class SyncService {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final EntityManager entityManager;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+
+    public SyncService(
+            ProjectRepository projectRepository,
+            TaskRepository taskRepository,
+            TombstoneRepository tombstoneRepository,
+            EntityManager entityManager,
+            @Value("${sync.settle-time:PT5S}") Duration settleTime,
+            @Value("${sync.tombstone-retention:P30D}") Duration tombstoneRetention
+    ) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * @throws ExpiredWatermarkException when deletions made since the watermark may have been purged
+     */
+    @Transactional(readOnly = true)
+    public SyncResponseDTO sync(String since, int size) {
+        Long userId = CurrentUser.id();
+        SyncWatermark from = SyncWatermark.decode(since);
+        LocalDateTime until = from.until() != null ? from.until() : until(from);
+        int batchSize = Math.clamp(size, 1, MAX_BATCH_SIZE);
+        Limit limit = Limit.of(batchSize + 1);
+
+        List<ProjectResponseDTO> projects = projectRepository.findChangedBetween(
+                userId, from.since(), until, from.afterProjectId(), limit);
+        List<TaskResponseDTO> tasks = taskRepository.findChangedBetween(
+                userId, from.since(), until, from.afterTaskId(), limit);
+        // A client syncing from scratch has nothing to delete.
+        List<Tombstone> tombstones = from.isStart() ? List.of() : tombstoneRepository.findDeletedBetween(
+                userId, from.since(), until, from.afterTombstoneId(), limit);
+
+        boolean hasMore = projects.size() > batchSize || tasks.size() > batchSize || tombstones.size() > batchSize;
+        projects = firstOf(projects, batchSize);
+        tasks = firstOf(tasks, batchSize);
+        tombstones = firstOf(tombstones, batchSize);
+
+        SyncWatermark next = hasMore
+                ? new SyncWatermark(
+                        from.since(),
+                        until,
+                        lastId(projects, ProjectResponseDTO::id, from.afterProjectId()),
+                        lastId(tasks, TaskResponseDTO::id, from.afterTaskId()),
+                        lastId(tombstones, Tombstone::getId, from.afterTombstoneId()))
+                : SyncWatermark.after(until);
+        return new SyncResponseDTO(
+                projects,
+                tasks,
+                entityIds(tombstones, TombstoneType.PROJECT),
+                entityIds(tombstones, TombstoneType.TASK),
+                next.encode(),
+                hasMore
+        );
+    }
+
+    private LocalDateTime until(SyncWatermark from) {
+        LocalDateTime now = entityManager.createQuery("SELECT LOCAL DATETIME", LocalDateTime.class).getSingleResult();
+        if (!from.isStart() && from.since().isBefore(now.minus(tombstoneRetention))) {
+            throw new ExpiredWatermarkException("Changes since this watermark are no longer kept, sync from scratch");
+        }
+        LocalDateTime until = now.minus(settleTime);
+        // Synced again within the settle time: nothing new can be returned yet.
+        return until.isBefore(from.since()) ? from.since() : until;
+    }
+
+    private static <T> List<T> firstOf(List<T> rows, int size) {
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+
+    private static <T> long lastId(List<T> rows, Function<T, Long> id, long previous) {
+        return rows.isEmpty() ? previous : id.apply(rows.get(rows.size() - 1));
+    }
+
+    private static List<Long> entityIds(List<Tombstone> tombstones, TombstoneType type) {
+        return tombstones.stream()
+                .filter(tombstone -> tombstone.getEntityType() == type)
+                .map(Tombstone::getEntityId)
+                .toList();
+    }
+}
@@ -0,0 +1,34 @@
+package ma.ensa.projecttasksbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the per-project task counters from the task table and repairs any
+ * project whose stored values drifted (concurrent toggles, rows written outside TaskService).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCounterReconciler {
+    private final ProjectRepository projectRepository;
+    private final ProjectPageCache projectPageCache;
+
+    @Scheduled(
+            initialDelayString = "${tasks.counters.reconciliation.initial-delay:PT1M}",
+            fixedDelayString = "${tasks.counters.reconciliation.interval:PT1H}"
+    )
+    @Transactional
+    public int reconcile() {
+        int repaired = projectRepository.reconcileTaskCounters();
+        if (repaired > 0) {
+            log.warn("Repaired task counters of {} project(s)", repaired);
+            projectPageCache.evictAll();
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,201 @@
+package ma.ensa.projecttasksbackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.dto.task.TaskEventDTO;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Pushes the task writes of {@link TaskService} to the owner's open Server-Sent Events streams,
+ * once the write commits.
+ * <p>
+ * Every subscriber has its own queue of at most {@code task-events.buffer-size} events. Publishing
+ * only offers to these queues and never waits on a client: a subscriber whose queue is full is a
+ * slow consumer and is disconnected, and has to reconnect and reload what it shows. Queues are
+ * drained on virtual threads started on demand, at most one per subscriber, so an idle stream
+ * holds no thread, only its async request. A comment sent every
+ * {@code task-events.heartbeat-interval} keeps proxies from closing idle streams and finds the
+ * clients that went away.
+ */
+@Component
+@Slf4j
+public class TaskEventBroadcaster {
+    public static final String SUBSCRIBERS_GAUGE = "task.events.subscribers";
+    public static final String DROPPED_COUNTER = "task.events.dropped";
+
+    private final ProjectRepository projectRepository;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+
+    public TaskEventBroadcaster(
+            ProjectRepository projectRepository,
+            MeterRegistry meterRegistry,
+            @Value("${task-events.buffer-size:256}") int bufferSize,
+            @Value("${task-events.timeout:PT30M}") Duration timeout
+    ) {
+        this.projectRepository = projectRepository;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        Gauge.builder(SUBSCRIBERS_GAUGE, subscriberCount, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(DROPPED_COUNTER)
+                .description("Task event streams closed because the client did not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the user's task events, limited to one project when {@code projectId} is
+     * not null. A project of another user answers 404 like every other project endpoint.
+     */
+    public SseEmitter subscribe(Long userId, Long projectId) {
+        if (projectId != null && !projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, projectId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribersByUser.compute(userId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+        // Commits the response right away, so the client knows the stream is open.
+        offer(subscriber, SseEmitter.event().comment("subscribed"));
+        return emitter;
+    }
+
+    public void publishAfterCommit(Long userId, TaskEventDTO event) {
+        AfterCommit.run(() -> {
+            Set<Subscriber> subscribers = subscribersByUser.get(userId);
+            if (subscribers == null) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.projectId() == null || subscriber.projectId().equals(event.projectId())) {
+                    offer(subscriber, SseEmitter.event().name("task").data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        });
+    }
+
+    // A deleted project will not have events anymore; its streams are ended rather than left idle.
+    public void closeProjectAfterCommit(Long userId, Long projectId) {
+        AfterCommit.run(() -> closeAll(subscriber -> subscriber.userId().equals(userId) && projectId.equals(subscriber.projectId())));
+    }
+
+    @Scheduled(fixedDelayString = "${task-events.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        subscribersByUser.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> offer(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeAll(subscriber -> true);
+        senders.shutdown();
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed().get()) {
+            return;
+        }
+        if (!subscriber.queue().offer(event)) {
+            dropped.increment();
+            log.debug("Closing the task event stream of user {}: {} events pending", subscriber.userId(), bufferSize);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue().poll()) != null) {
+                if (subscriber.closed().get()) {
+                    return;
+                }
+                try {
+                    subscriber.emitter().send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    // The client is gone; the container reports it through onError as well.
+                    remove(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining().set(false);
+            // An event offered between the last poll and the reset found draining still set.
+        } while (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private void closeAll(Predicate<Subscriber> filter) {
+        subscribersByUser.values().forEach(subscribers -> subscribers.stream()
+                .filter(filter)
+                .forEach(this::close));
+    }
+
+    // complete() waits for a send in progress to a slow client, so it never runs on the publishing thread.
+    private void close(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            senders.execute(subscriber.emitter()::complete);
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed().compareAndSet(false, true)) {
+            return false;
+        }
+        subscribersByUser.computeIfPresent(subscriber.userId(), (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+        subscriber.queue().clear();
+        return true;
+    }
+
+    private record Subscriber(
+            Long userId,
+            Long projectId,
+            SseEmitter emitter,
+            BlockingQueue<SseEmitter.SseEventBuilder> queue,
+            AtomicBoolean draining,
+            AtomicBoolean closed
+    ) {
+        Subscriber(Long userId, Long projectId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this(userId, projectId, emitter, queue, new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+}
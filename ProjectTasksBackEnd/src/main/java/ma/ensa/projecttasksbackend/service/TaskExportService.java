@@ -0,0 +1,169 @@
+package ma.ensa.projecttasksbackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityNotFoundException;
+import ma.ensa.projecttasksbackend.dto.pagination.Cursor;
+import ma.ensa.projecttasksbackend.dto.task.TaskExportFormat;
+import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes every task of a project matching a {@link TaskFilterDTO} as NDJSON or CSV while
+ * the rows are read, so memory use does not depend on the number of tasks exported.
+ * <p>
+ * Rows are read in keyset chunks of {@code tasks.export.chunk-size}, each in its own short
+ * read-only transaction, so that a slow download never holds a pooled connection. A task
+ * written during an export shows up in it only if its chunk is read afterwards.
+ */
+@Service
+public class TaskExportService {
+    private static final String CSV_HEADER = "id,title,description,completed,dueDate,projectId,createdAt";
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final int chunkSize;
+
+    public TaskExportService(
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.export.chunk-size:1000}") int chunkSize
+    ) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Checks ownership on the calling thread, so that a foreign project still answers 404, and
+     * returns the body that streams the rows once the response is being written.
+     */
+    public StreamingResponseBody exportTasks(Long projectId, TaskFilterDTO filter, TaskExportFormat format) {
+        if (!projectRepository.existsByIdAndUserId(projectId, CurrentUser.id())) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+        return out -> {
+            Stream<TaskRepository.TaskRow> rows = rows(projectId, filter);
+            switch (format) {
+                case NDJSON -> writeNdjson(rows, projectId, out);
+                case CSV -> writeCsv(rows, projectId, out);
+            }
+        };
+    }
+
+    // Lazy: the next chunk is read once the previous one is written. A short chunk is the last.
+    private Stream<TaskRepository.TaskRow> rows(Long projectId, TaskFilterDTO filter) {
+        return Stream.iterate(
+                        chunk(projectId, filter, Cursor.START),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < chunkSize ? List.of() : chunk(projectId, filter, after(chunk)))
+                .flatMap(List::stream);
+    }
+
+    private List<TaskRepository.TaskRow> chunk(Long projectId, TaskFilterDTO filter, Cursor after) {
+        return readOnly.execute(status -> taskRepository.findExportRowsAfter(
+                projectId,
+                TaskService.toLikePattern(filter),
+                filter.completed(),
+                filter.dueDateFrom(),
+                filter.dueDateTo(),
+                after.createdAt(),
+                after.id(),
+                Limit.of(chunkSize)
+        ));
+    }
+
+    private static Cursor after(List<TaskRepository.TaskRow> chunk) {
+        TaskRepository.TaskRow last = chunk.get(chunk.size() - 1);
+        return new Cursor(last.getCreatedAt(), last.getId());
+    }
+
+    private void writeNdjson(Stream<TaskRepository.TaskRow> rows, Long projectId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (TaskRepository.TaskRow row : (Iterable<TaskRepository.TaskRow>) rows::iterator) {
+                writer.writeValue(generator, toDTO(row, projectId));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Stream<TaskRepository.TaskRow> rows, Long projectId, OutputStream out) throws IOException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        for (TaskRepository.TaskRow row : (Iterable<TaskRepository.TaskRow>) rows::iterator) {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(csvField(row.getTitle()));
+            writer.write(',');
+            writer.write(csvField(row.getDescription()));
+            writer.write(',');
+            writer.write(String.valueOf(row.isCompleted()));
+            writer.write(',');
+            writer.write(row.getDueDate() == null ? "" : dateFormat.format(row.getDueDate()));
+            writer.write(',');
+            writer.write(String.valueOf(projectId));
+            writer.write(',');
+            writer.write(row.getCreatedAt() == null ? "" : row.getCreatedAt().toString());
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    // RFC 4180: quote fields holding a separator, a quote or a line break, and double the quotes.
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static TaskResponseDTO toDTO(TaskRepository.TaskRow row, Long projectId) {
+        return new TaskResponseDTO(
+                row.getId(),
+                row.getTitle(),
+                row.getDescription(),
+                row.isCompleted(),
+                row.getDueDate(),
+                projectId,
+                row.getCreatedAt(),
+                row.getVersion()
+        );
+    }
+}
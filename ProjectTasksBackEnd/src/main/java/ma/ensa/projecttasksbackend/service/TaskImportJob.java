@@ -0,0 +1,108 @@
+package ma.ensa.projecttasksbackend.service;
+
+import ma.ensa.projecttasksbackend.dto.task.TaskImportErrorDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportFormat;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportJobDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of one import, written by the worker running it and read by status requests.
+ */
+final class TaskImportJob {
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final Long projectId;
+    private final TaskImportFormat format;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<TaskImportErrorDTO> errors = new ArrayList<>();
+    private volatile TaskImportStatus status = TaskImportStatus.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    TaskImportJob(Long userId, Long projectId, TaskImportFormat format) {
+        this.userId = userId;
+        this.projectId = projectId;
+        this.format = format;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    Long getProjectId() {
+        return projectId;
+    }
+
+    TaskImportFormat getFormat() {
+        return format;
+    }
+
+    void start() {
+        status = TaskImportStatus.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void imported(int rows) {
+        imported.addAndGet(rows);
+    }
+
+    void reject(long row, String reason) {
+        if (failed.getAndIncrement() < MAX_REPORTED_ERRORS) {
+            synchronized (errors) {
+                errors.add(new TaskImportErrorDTO(row, reason));
+            }
+        }
+    }
+
+    void complete() {
+        finish(TaskImportStatus.COMPLETED, null);
+    }
+
+    void fail(String reason) {
+        finish(TaskImportStatus.FAILED, reason);
+    }
+
+    TaskImportJobDTO toDTO() {
+        List<TaskImportErrorDTO> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return new TaskImportJobDTO(
+                id,
+                projectId,
+                format,
+                status,
+                rowsRead.get(),
+                imported.get(),
+                failed.get(),
+                reported,
+                message,
+                submittedAt,
+                finishedAt
+        );
+    }
+
+    private void finish(TaskImportStatus finalStatus, String reason) {
+        message = reason;
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+}
@@ -0,0 +1,378 @@
+package ma.ensa.projecttasksbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportFormat;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportJobDTO;
+import ma.ensa.projecttasksbackend.exception.ImportCapacityExceededException;
+import ma.ensa.projecttasksbackend.exception.ImportTooLargeException;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks into a project as a background job. The upload, at most
+ * {@code tasks.import.max-upload-size}, is copied to a temporary file while the request is served;
+ * a worker then reads it one row at a time, validates each row like {@link TaskCreateDTO} and
+ * inserts the valid ones in chunks of {@code tasks.import.chunk-size}, each in its own transaction.
+ * Memory use therefore depends on the chunk size, not on the upload.
+ * <p>
+ * Jobs are kept in memory for {@code tasks.import.retention} and are only visible on the
+ * instance, and to the user, that accepted them.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "dueDate");
+
+    private final TaskService taskService;
+    private final ProjectRepository projectRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader taskReader;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Cache<String, TaskImportJob> jobs;
+    private final Semaphore slots;
+    private final int chunkSize;
+    private final long maxUploadBytes;
+
+    public TaskImportService(
+            TaskService taskService,
+            ProjectRepository projectRepository,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.import.chunk-size:1000}") int chunkSize,
+            @Value("${tasks.import.workers:2}") int workers,
+            @Value("${tasks.import.queue-capacity:8}") int queueCapacity,
+            @Value("${tasks.import.retention:PT24H}") Duration retention,
+            @Value("${tasks.import.max-upload-size:50MB}") DataSize maxUploadSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.taskService = taskService;
+        this.projectRepository = projectRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.taskReader = objectMapper.readerFor(TaskCreateDTO.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+
+        // Bounded on purpose: once every worker and queue slot is reserved, new imports are turned
+        // away with a 503 before their upload is read. Kept out of the context so that it does not
+        // replace the executor Spring MVC uses for streamed responses.
+        this.slots = new Semaphore(workers + queueCapacity);
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(workers);
+        this.executor.setMaxPoolSize(workers);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("task-import-");
+        this.executor.setVirtualThreads(virtualThreads);
+        this.executor.initialize();
+    }
+
+    /**
+     * Checks ownership, reserves a worker or queue slot, spools {@code body} to disk and queues the
+     * import. The slot is taken before the upload is read, so a rejected import costs no disk.
+     *
+     * @throws ImportCapacityExceededException when every worker and queue slot is taken
+     * @throws ImportTooLargeException when the upload exceeds {@code tasks.import.max-upload-size}
+     */
+    public TaskImportJobDTO importTasks(Long projectId, TaskImportFormat format, InputStream body) throws IOException {
+        Long userId = CurrentUser.id();
+        if (!projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+        if (!slots.tryAcquire()) {
+            throw new ImportCapacityExceededException("Too many imports in progress, try again later");
+        }
+        boolean queued = false;
+        Path upload = null;
+        try {
+            upload = Files.createTempFile("task-import-", "." + format.name().toLowerCase());
+            spool(body, upload);
+            TaskImportJob job = new TaskImportJob(userId, projectId, format);
+            jobs.put(job.getId(), job);
+            Path file = upload;
+            try {
+                executor.execute(() -> run(job, file));
+            } catch (RejectedExecutionException ex) {
+                // Only once the executor shuts down: the slots never exceed its capacity.
+                jobs.invalidate(job.getId());
+                throw new ImportCapacityExceededException("Imports are not accepted anymore");
+            }
+            queued = true;
+            return job.toDTO();
+        } finally {
+            if (!queued) {
+                slots.release();
+                if (upload != null) {
+                    Files.deleteIfExists(upload);
+                }
+            }
+        }
+    }
+
+    // Files.copy with a limit: stops reading as soon as the upload is larger than allowed.
+    private void spool(InputStream body, Path upload) throws IOException {
+        try (OutputStream out = Files.newOutputStream(upload)) {
+            byte[] buffer = new byte[8192];
+            long written = 0;
+            int read;
+            while ((read = body.read(buffer)) >= 0) {
+                written += read;
+                if (written > maxUploadBytes) {
+                    throw new ImportTooLargeException("Import files are limited to " + maxUploadBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    public TaskImportJobDTO getImport(String jobId) {
+        TaskImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.getUserId().equals(CurrentUser.id())) {
+            throw new EntityNotFoundException("Import not found or access denied");
+        }
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(TaskImportJob job, Path upload) {
+        job.start();
+        try (BufferedReader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            Chunk chunk = new Chunk(job);
+            switch (job.getFormat()) {
+                case NDJSON -> readNdjson(reader, chunk);
+                case CSV -> readCsv(reader, chunk);
+            }
+            chunk.flush();
+            job.complete();
+        } catch (Exception ex) {
+            log.warn("Import {} into project {} failed", job.getId(), job.getProjectId(), ex);
+            job.fail(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException ex) {
+                log.warn("Could not delete import file {}", upload, ex);
+            }
+            slots.release();
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Chunk chunk) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(row, taskReader.readValue(line));
+            } catch (JsonProcessingException ex) {
+                chunk.reject(row, "Malformed row: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    // CSV fields are put into a JSON object so that they convert exactly like NDJSON rows.
+    private void readCsv(BufferedReader reader, Chunk chunk) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+        String[] columns = new String[header.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String name = header.get(i).trim();
+            columns[i] = CSV_COLUMNS.stream().filter(name::equalsIgnoreCase).findFirst().orElse(null);
+        }
+
+        long row = 0;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < Math.min(columns.length, fields.size()); i++) {
+                if (columns[i] != null && !fields.get(i).isEmpty()) {
+                    node.put(columns[i], fields.get(i));
+                }
+            }
+            try {
+                chunk.add(row, taskReader.readValue(node));
+            } catch (JsonProcessingException ex) {
+                chunk.reject(row, "Malformed row: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private void insert(TaskImportJob job, List<TaskCreateDTO> tasks) {
+        transactionTemplate.executeWithoutResult(status ->
+                taskService.insertTasks(job.getUserId(), projectRepository.getReferenceById(job.getProjectId()), tasks));
+    }
+
+    private String describe(Set<ConstraintViolation<TaskCreateDTO>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Valid rows waiting to be inserted, with their row numbers.
+     */
+    private final class Chunk {
+        private final TaskImportJob job;
+        private final List<Long> rows = new ArrayList<>(chunkSize);
+        private final List<TaskCreateDTO> tasks = new ArrayList<>(chunkSize);
+
+        Chunk(TaskImportJob job) {
+            this.job = job;
+        }
+
+        void add(long row, TaskCreateDTO task) {
+            job.rowRead();
+            Set<ConstraintViolation<TaskCreateDTO>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                job.reject(row, describe(violations));
+                return;
+            }
+            rows.add(row);
+            tasks.add(task);
+            if (tasks.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String reason) {
+            job.rowRead();
+            job.reject(row, reason);
+        }
+
+        // A row the database refuses (a title over the column length, say) rolls back its whole
+        // chunk, which is then retried row by row to report it and keep the others.
+        void flush() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            try {
+                insert(job, tasks);
+                job.imported(tasks.size());
+            } catch (DataAccessException ex) {
+                if (!projectRepository.existsById(job.getProjectId())) {
+                    throw new EntityNotFoundException("Project was deleted during the import");
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    try {
+                        insert(job, List.of(tasks.get(i)));
+                        job.imported(1);
+                    } catch (DataAccessException rowEx) {
+                        job.reject(rows.get(i), "Rejected by the database: "
+                                + NestedExceptionUtils.getMostSpecificCause(rowEx).getMessage());
+                    }
+                }
+            }
+            rows.clear();
+            tasks.clear();
+        }
+    }
+
+    /**
+     * RFC 4180 records, read one at a time: quoted fields may hold separators, line breaks and
+     * doubled quotes. Records end with LF or CRLF.
+     */
+    private static final class CsvReader {
+        private final BufferedReader in;
+
+        CsvReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        // The fields of the next record, or null at the end of the input.
+        List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = in.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package ma.ensa.projecttasksbackend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram index over the title and description of the tasks of a project.
+ * A project is indexed on its first search and kept up to date by {@link TaskService} writes
+ * once they commit. Entries expire after {@code tasks.search.index.expire-after-write} so that
+ * writes made by another instance or outside the services show up after a bounded delay.
+ */
+@Component
+public class TaskSearchIndex {
+    private static final int TITLE_MATCH = 10;
+    private static final int TITLE_WORD_START = 5;
+    private static final int TITLE_EXACT = 100;
+    private static final int DESCRIPTION_MATCH = 3;
+    private static final int DESCRIPTION_WORD_START = 1;
+
+    private final TaskRepository taskRepository;
+    private final AsyncCache<Long, ProjectIndex> projects;
+
+    public TaskSearchIndex(
+            TaskRepository taskRepository,
+            @Value("${tasks.search.index.max-tasks:2000000}") long maxTasks,
+            @Value("${tasks.search.index.expire-after-write:PT10M}") Duration expireAfterWrite
+    ) {
+        this.taskRepository = taskRepository;
+        this.projects = Caffeine.newBuilder()
+                .maximumWeight(maxTasks)
+                .weigher((Long projectId, ProjectIndex index) -> index.size())
+                .expireAfterWrite(expireAfterWrite)
+                .buildAsync();
+    }
+
+    /**
+     * Returns the ids of the project's tasks whose title or description contains the filter query,
+     * best match first, then newest first. The other filter fields are applied as well.
+     */
+    public List<Long> search(Long projectId, TaskFilterDTO filter) {
+        String query = filter.query().trim().toLowerCase();
+        return index(projectId).search(query, filter);
+    }
+
+    public void indexAfterCommit(Task task) {
+        putAfterCommit(task.getProject().getId(), Entry.of(task));
+    }
+
+    private void putAfterCommit(Long projectId, Entry entry) {
+        updateAfterCommit(projectId, index -> index.put(entry));
+    }
+
+    public void removeAfterCommit(Long projectId, Long taskId) {
+        updateAfterCommit(projectId, index -> index.remove(taskId));
+    }
+
+    // An index still loading may have read the rows before or after this write, so it is dropped
+    // instead, and the next search loads it again; otherwise it would miss the write until it expires.
+    private void updateAfterCommit(Long projectId, Consumer<ProjectIndex> update) {
+        AfterCommit.run(() -> {
+            CompletableFuture<ProjectIndex> future = projects.getIfPresent(projectId);
+            if (future == null) {
+                return;
+            }
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                update.accept(future.join());
+            } else {
+                projects.asMap().remove(projectId, future);
+            }
+        });
+    }
+
+    public void evictAfterCommit(Long projectId) {
+        AfterCommit.run(() -> projects.synchronous().invalidate(projectId));
+    }
+
+    // The first caller loads the index while the others wait on its future. Loading inside the
+    // cache's compute would hold a map lock across the JDBC read, which pins the carrier thread
+    // when requests run on virtual threads.
+    private ProjectIndex index(Long projectId) {
+        CompletableFuture<ProjectIndex> loading = new CompletableFuture<>();
+        CompletableFuture<ProjectIndex> existing = projects.asMap().putIfAbsent(projectId, loading);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            loading.complete(load(projectId));
+        } catch (RuntimeException ex) {
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+        return loading.join();
+    }
+
+    private ProjectIndex load(Long projectId) {
+        ProjectIndex index = new ProjectIndex();
+        taskRepository.findSearchRowsByProjectId(projectId).forEach(row -> index.put(new Entry(
+                row.getId(),
+                lower(row.getTitle()),
+                lower(row.getDescription()),
+                row.isCompleted(),
+                row.getDueDate(),
+                row.getCreatedAt()
+        )));
+        return index;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+
+    private record Entry(long id, String title, String description, boolean completed, Date dueDate, LocalDateTime createdAt) {
+
+        static Entry of(Task task) {
+            return new Entry(task.getId(), lower(task.getTitle()), lower(task.getDescription()),
+                    task.isCompleted(), task.getDueDate(), task.getCreatedAt());
+        }
+
+        // Mirrors the conditions of TaskRepository.findByProject, query excepted.
+        boolean matches(TaskFilterDTO filter) {
+            if (filter.completed() != null && filter.completed() != completed) {
+                return false;
+            }
+            if (filter.dueDateFrom() != null && (dueDate == null || dueDate.compareTo(filter.dueDateFrom()) < 0)) {
+                return false;
+            }
+            return filter.dueDateTo() == null || (dueDate != null && dueDate.compareTo(filter.dueDateTo()) <= 0);
+        }
+
+        int score(String query) {
+            int score = 0;
+            int inTitle = title.indexOf(query);
+            if (inTitle >= 0) {
+                score += TITLE_MATCH;
+                if (isWordStart(title, inTitle)) {
+                    score += TITLE_WORD_START;
+                }
+                if (title.length() == query.length()) {
+                    score += TITLE_EXACT;
+                }
+            }
+            int inDescription = description.indexOf(query);
+            if (inDescription >= 0) {
+                score += DESCRIPTION_MATCH;
+                if (isWordStart(description, inDescription)) {
+                    score += DESCRIPTION_WORD_START;
+                }
+            }
+            return score;
+        }
+
+        private static boolean isWordStart(String text, int index) {
+            return index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1));
+        }
+    }
+
+    private record Hit(Entry entry, int score) {
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(hit -> hit.entry().createdAt(), Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(hit -> hit.entry().id(), Comparator.reverseOrder());
+    }
+
+    /**
+     * Entries of one project in insertion slots, and for every trigram the slots whose text
+     * contains it. Updating a task frees its old slot; the postings are rebuilt once freed
+     * slots outnumber live ones.
+     */
+    private static final class ProjectIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<Entry> slots = new ArrayList<>();
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private Map<Long, Postings> postings = new HashMap<>();
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return slotById.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Long> search(String query, TaskFilterDTO filter) {
+            lock.readLock().lock();
+            try {
+                List<Hit> hits = new ArrayList<>();
+                Postings candidates = candidates(query);
+                if (candidates == null) {
+                    for (Entry entry : slots) {
+                        collect(entry, query, filter, hits);
+                    }
+                } else {
+                    for (int i = 0; i < candidates.size; i++) {
+                        collect(slots.get(candidates.slots[i]), query, filter, hits);
+                    }
+                }
+                hits.sort(Hit.RANKING);
+                return hits.stream().map(hit -> hit.entry().id()).toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Entry entry) {
+            lock.writeLock().lock();
+            try {
+                Integer previous = slotById.put(entry.id(), slots.size());
+                if (previous != null) {
+                    slots.set(previous, null);
+                }
+                addSlot(entry);
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long taskId) {
+            lock.writeLock().lock();
+            try {
+                Integer previous = slotById.remove(taskId);
+                if (previous != null) {
+                    slots.set(previous, null);
+                    compactIfSparse();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Smallest postings list among the query trigrams, an empty one when a trigram is absent,
+        // or null when the query is too short to have trigrams.
+        private Postings candidates(String query) {
+            if (query.length() < 3) {
+                return null;
+            }
+            Postings smallest = null;
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                Postings current = postings.get(trigram(query, i));
+                if (current == null) {
+                    return Postings.EMPTY;
+                }
+                if (smallest == null || current.size < smallest.size) {
+                    smallest = current;
+                }
+            }
+            return smallest;
+        }
+
+        private static void collect(Entry entry, String query, TaskFilterDTO filter, List<Hit> hits) {
+            if (entry == null || !entry.matches(filter)) {
+                return;
+            }
+            int score = entry.score(query);
+            if (score > 0) {
+                hits.add(new Hit(entry, score));
+            }
+        }
+
+        private void addSlot(Entry entry) {
+            int slot = slots.size();
+            slots.add(entry);
+            addTrigrams(entry.title(), slot);
+            addTrigrams(entry.description(), slot);
+        }
+
+        private void addTrigrams(String text, int slot) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                postings.computeIfAbsent(trigram(text, i), key -> new Postings()).add(slot);
+            }
+        }
+
+        private void compactIfSparse() {
+            int freed = slots.size() - slotById.size();
+            if (freed < 1024 || freed < slotById.size()) {
+                return;
+            }
+            List<Entry> live = slots.stream().filter(entry -> entry != null).toList();
+            slots.clear();
+            slotById.clear();
+            postings = new HashMap<>();
+            for (Entry entry : live) {
+                slotById.put(entry.id(), slots.size());
+                addSlot(entry);
+            }
+        }
+
+        private static long trigram(String text, int start) {
+            return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+        }
+    }
+
+    // Growable list of slots in increasing order, without duplicates.
+    private static final class Postings {
+        static final Postings EMPTY = new Postings();
+
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
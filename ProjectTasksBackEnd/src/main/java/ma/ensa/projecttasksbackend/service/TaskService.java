@@ -1,61 +1,102 @@
 package ma.ensa.projecttasksbackend.service;
 
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.projecttasksbackend.dto.pagination.Cursor;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
 import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchResultDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskEventDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskEventType;
 import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskPatchDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
 import ma.ensa.projecttasksbackend.entity.Project;
 import ma.ensa.projecttasksbackend.entity.Task;
 import ma.ensa.projecttasksbackend.repository.ProjectRepository;
 import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.TombstoneRepository;
+import ma.ensa.projecttasksbackend.security.CurrentUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ProjectPageCache projectPageCache;
+    private final DashboardCache dashboardCache;
+    private final TaskEventBroadcaster taskEvents;
 
     @Transactional
     public TaskResponseDTO createTask(Long projectId, TaskCreateDTO taskCreateDTO) {
         Project project = getProjectOwnedByUser(projectId);
-        Task task = Task.builder()
-                .title(taskCreateDTO.title())
-                .description(taskCreateDTO.description())
-                .dueDate(taskCreateDTO.dueDate())
-                .completed(false)
-                .project(project)
-                .build();
-        Task savedTask = taskRepository.save(task);
-        return mapToDTO(savedTask);
+        Task savedTask = taskRepository.save(toEntity(taskCreateDTO, project));
+        projectRepository.adjustTaskCounters(project.getId(), 1, 0);
+        taskSearchIndex.indexAfterCommit(savedTask);
+        projectPageCache.evictAfterCommit(CurrentUser.id());
+        dashboardCache.evictAfterCommit(CurrentUser.id());
+        return publish(TaskEventType.CREATED, mapToDTO(savedTask));
     }
 
-    public PagedResponse<TaskResponseDTO> getTasksByProject(Long projectId, TaskFilterDTO filter, Pageable pageable) {
+    // Inserts go out in JDBC batches of hibernate.jdbc.batch_size when the transaction flushes.
+    @Transactional
+    public List<TaskResponseDTO> createTasks(Long projectId, TaskBatchCreateDTO batch) {
         Project project = getProjectOwnedByUser(projectId);
+        return insertTasks(CurrentUser.id(), project, batch.tasks())
+                .stream()
+                .map(this::mapToDTO)
+                .toList();
+    }
 
-        String formattedQuery = null;
-        if (filter.query() != null && !filter.query().isBlank()) {
-            formattedQuery = "%" + filter.query().trim().toLowerCase() + "%";
-        }
-        Page<Task> tasksPage = taskRepository.findByProject(
-                project,
-                formattedQuery,
-                filter.completed(),
-                filter.dueDateFrom(),
-                filter.dueDateTo(),
-                pageable
-        );
+    // Runs in the caller's transaction; TaskImportService calls it once per chunk of an import,
+    // outside any request, hence the owner's id as a parameter.
+    List<Task> insertTasks(Long userId, Project project, List<TaskCreateDTO> taskCreateDTOs) {
+        List<Task> tasks = taskCreateDTOs
+                .stream()
+                .map(taskCreateDTO -> toEntity(taskCreateDTO, project))
+                .toList();
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        projectRepository.adjustTaskCounters(project.getId(), savedTasks.size(), 0);
+        savedTasks.forEach(taskSearchIndex::indexAfterCommit);
+        projectPageCache.evictAfterCommit(userId);
+        dashboardCache.evictAfterCommit(userId);
+        // One event for the whole batch, which would overflow the subscribers' queues one task at a time.
+        taskEvents.publishAfterCommit(userId, projectChanged(project.getId(), savedTasks.size()));
+        return savedTasks;
+    }
 
+    @Transactional(readOnly = true)
+    public PagedResponse<TaskResponseDTO> getTasksByProject(Long projectId, TaskFilterDTO filter, Pageable pageable) {
+        Project project = getProjectOwnedByUser(projectId);
 
+        Page<Task> tasksPage = toLikePattern(filter) == null
+                ? taskRepository.findByProject(
+                        project.getId(),
+                        null,
+                        filter.completed(),
+                        filter.dueDateFrom(),
+                        filter.dueDateTo(),
+                        pageable)
+                : searchTasks(project.getId(), filter, pageable);
 
         List<TaskResponseDTO> tasks = tasksPage.getContent()
                 .stream()
@@ -71,51 +112,222 @@ public class TaskService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<TaskResponseDTO> getTasksByProjectAfter(Long projectId, TaskFilterDTO filter, String cursor, int requestedSize) {
+        int size = CursorPagedResponse.clampSize(requestedSize);
+        Project project = getProjectOwnedByUser(projectId);
+        Cursor after = Cursor.decode(cursor);
+
+        List<Task> tasks = taskRepository.findByProjectAfter(
+                project.getId(),
+                toLikePattern(filter),
+                filter.completed(),
+                filter.dueDateFrom(),
+                filter.dueDateTo(),
+                after.createdAt(),
+                after.id(),
+                Limit.of(size + 1)
+        );
+        return CursorPagedResponse.of(tasks, size, task -> new Cursor(task.getCreatedAt(), task.getId()), this::mapToDTO);
+    }
+
+    // Ranked by relevance instead of the pageable sort; only the requested page is read from the database.
+    private Page<Task> searchTasks(Long projectId, TaskFilterDTO filter, Pageable pageable) {
+        List<Long> rankedIds = taskSearchIndex.search(projectId, filter);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, Task> tasksById = taskRepository.findAllById(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> tasks = pageIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(tasks, pageable, rankedIds.size());
+    }
+
     @Transactional
     public TaskResponseDTO updateTask(Long taskId, TaskUpdateDTO taskUpdateDTO) {
         Task task = this.getTaskOwnedByUser(taskId);
+        boolean wasCompleted = task.isCompleted();
         task.setTitle(taskUpdateDTO.title());
         task.setDescription(taskUpdateDTO.description());
         task.setDueDate(taskUpdateDTO.dueDate());
         if (taskUpdateDTO.completed() != null) {
             task.setCompleted(taskUpdateDTO.completed());
         }
-        Task updatedTask = taskRepository.save(task);
-        return mapToDTO(updatedTask);
+        return updated(taskRepository.save(task), wasCompleted);
+    }
+
+    // Sets the fields present in the patch only, and Task's dynamic update writes only the columns
+    // that changed. A version from If-Match must still be the task's; a concurrent update between
+    // the read and the write fails the flush on the version column instead.
+    @Transactional
+    public TaskResponseDTO patchTask(Long taskId, TaskPatchDTO patch, Long expectedVersion) {
+        Task task = this.getTaskOwnedByUser(taskId);
+        if (expectedVersion != null && expectedVersion != task.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
+        boolean wasCompleted = task.isCompleted();
+        if (patch.getTitle() != null) {
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.isDescriptionSet()) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.isDueDateSet()) {
+            task.setDueDate(patch.getDueDate());
+        }
+        if (patch.getCompleted() != null) {
+            task.setCompleted(patch.getCompleted());
+        }
+        return updated(task, wasCompleted);
+    }
+
+    private TaskResponseDTO updated(Task task, boolean wasCompleted) {
+        int completedDelta = wasCompleted == task.isCompleted() ? 0 : task.isCompleted() ? 1 : -1;
+        // Also when the counters stay as they are: the update bumps the project's version. Flushes
+        // the task first, so the response carries its new version.
+        projectRepository.adjustTaskCounters(task.getProject().getId(), 0, completedDelta);
+        if (completedDelta != 0) {
+            projectPageCache.evictAfterCommit(CurrentUser.id());
+        }
+        // The due date may have moved the task to another bucket.
+        dashboardCache.evictAfterCommit(CurrentUser.id());
+        taskSearchIndex.indexAfterCommit(task);
+        return publish(TaskEventType.UPDATED, mapToDTO(task));
     }
 
+    // Through the entity rather than a bulk UPDATE, which would empty the whole task region: with
+    // @DynamicUpdate and @Version the flush is one UPDATE of completed and version, conditional on
+    // the version read, and only this task's cache entry is replaced. A task completed earlier is
+    // answered as it is.
     @Transactional
     public TaskResponseDTO markAsCompleted(Long taskId) {
         Task task = this.getTaskOwnedByUser(taskId);
+        if (task.isCompleted()) {
+            return mapToDTO(task);
+        }
         task.setCompleted(true);
-        Task updatedTask = taskRepository.save(task);
-        return mapToDTO(updatedTask);
+        // Flushes the task first, so the response carries its new version.
+        projectRepository.adjustTaskCounters(task.getProject().getId(), 0, 1);
+        taskSearchIndex.indexAfterCommit(task);
+        projectPageCache.evictAfterCommit(CurrentUser.id());
+        dashboardCache.evictAfterCommit(CurrentUser.id());
+        return publish(TaskEventType.COMPLETED, mapToDTO(task));
     }
 
     @Transactional
     public void deleteTask(Long taskId) {
         Task task = this.getTaskOwnedByUser(taskId);
         if (task.getProject() != null) {
-            task.getProject().getTasks().remove(task);
-            task.setProject(null);
+            projectRepository.adjustTaskCounters(task.getProject().getId(), -1, task.isCompleted() ? -1 : 0);
+            taskSearchIndex.removeAfterCommit(task.getProject().getId(), task.getId());
+            projectPageCache.evictAfterCommit(CurrentUser.id());
+            dashboardCache.evictAfterCommit(CurrentUser.id());
+            taskEvents.publishAfterCommit(CurrentUser.id(), event(TaskEventType.DELETED, task.getProject().getId(), task.getId()));
+            tombstoneRepository.recordTasks(CurrentUser.id(), task.getProject().getId(), List.of(task.getId()));
         }
 
         taskRepository.delete(task);
     }
 
+    @Transactional
+    public TaskBatchResultDTO completeTasks(Long projectId, TaskIdsDTO request) {
+        Project project = getProjectOwnedByUser(projectId);
+        List<Long> taskIds = request.taskIds().stream().distinct().toList();
+        List<Task> tasks = requireTasksInProject(project.getId(), taskIds);
+
+        // Entity updates like markAsCompleted, flushed as JDBC batches by adjustTaskCounters.
+        List<Task> opened = tasks.stream().filter(task -> !task.isCompleted()).toList();
+        opened.forEach(task -> task.setCompleted(true));
+        int completed = opened.size();
+        projectRepository.adjustTaskCounters(project.getId(), 0, completed);
+        opened.forEach(taskSearchIndex::indexAfterCommit);
+        projectPageCache.evictAfterCommit(CurrentUser.id());
+        dashboardCache.evictAfterCommit(CurrentUser.id());
+        if (completed > 0) {
+            taskEvents.publishAfterCommit(CurrentUser.id(), projectChanged(project.getId(), completed));
+        }
+        return new TaskBatchResultDTO(taskIds.size(), completed);
+    }
+
+    @Transactional
+    public TaskBatchResultDTO deleteTasks(Long projectId, TaskIdsDTO request) {
+        Project project = getProjectOwnedByUser(projectId);
+        List<Long> taskIds = request.taskIds().stream().distinct().toList();
+        List<Task> tasks = requireTasksInProject(project.getId(), taskIds);
+
+        // Entity deletes like completeTasks, for the same reason: a bulk DELETE would empty the whole
+        // task region. They go out as one JDBC batch, flushed by adjustTaskCounters.
+        tombstoneRepository.recordTasks(CurrentUser.id(), project.getId(), taskIds);
+        taskRepository.deleteAll(tasks);
+        int deleted = tasks.size();
+        int completed = (int) tasks.stream().filter(Task::isCompleted).count();
+        projectRepository.adjustTaskCounters(project.getId(), -deleted, -completed);
+        taskIds.forEach(taskId -> taskSearchIndex.removeAfterCommit(project.getId(), taskId));
+        projectPageCache.evictAfterCommit(CurrentUser.id());
+        dashboardCache.evictAfterCommit(CurrentUser.id());
+        taskEvents.publishAfterCommit(CurrentUser.id(), projectChanged(project.getId(), deleted));
+        return new TaskBatchResultDTO(taskIds.size(), deleted);
+    }
+
+    // All or nothing: a single id outside the project fails the whole batch, like the single-task endpoints.
+    private List<Task> requireTasksInProject(Long projectId, List<Long> taskIds) {
+        List<Task> tasks = taskRepository.findAllByProjectIdAndIdIn(projectId, taskIds);
+        if (tasks.size() != taskIds.size()) {
+            throw new EntityNotFoundException("Task not found or access denied");
+        }
+        return tasks;
+    }
+
+    private static Task toEntity(TaskCreateDTO taskCreateDTO, Project project) {
+        return Task.builder()
+                .title(taskCreateDTO.title())
+                .description(taskCreateDTO.description())
+                .dueDate(taskCreateDTO.dueDate())
+                .completed(false)
+                .project(project)
+                .build();
+    }
+
+    static String toLikePattern(TaskFilterDTO filter) {
+        if (filter.query() == null || filter.query().isBlank()) {
+            return null;
+        }
+        return "%" + filter.query().trim().toLowerCase() + "%";
+    }
+
     private Project getProjectOwnedByUser(Long projectId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return projectRepository.findById(projectId)
-                .filter(p -> p.getUser().getEmail().equals(email))
-                .orElseThrow(() -> new EntityNotFoundException("Project not found or access denied"));
+        if (!projectRepository.existsByIdAndUserId(projectId, CurrentUser.id())) {
+            throw new EntityNotFoundException("Project not found or access denied");
+        }
+        return projectRepository.getReferenceById(projectId);
     }
     private Task getTaskOwnedByUser(Long taskId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return taskRepository.findById(taskId)
-                .filter(t -> t.getProject().getUser().getEmail().equals(email))
+        return taskRepository.findByIdAndProjectUserId(taskId, CurrentUser.id())
                 .orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
     }
 
+    private TaskResponseDTO publish(TaskEventType type, TaskResponseDTO task) {
+        taskEvents.publishAfterCommit(CurrentUser.id(), event(type, task));
+        return task;
+    }
+
+    private static TaskEventDTO event(TaskEventType type, TaskResponseDTO task) {
+        return new TaskEventDTO(type, task.projectId(), task.id(), task, 1);
+    }
+
+    private static TaskEventDTO event(TaskEventType type, Long projectId, Long taskId) {
+        return new TaskEventDTO(type, projectId, taskId, null, 1);
+    }
+
+    private static TaskEventDTO projectChanged(Long projectId, int count) {
+        return new TaskEventDTO(TaskEventType.PROJECT_CHANGED, projectId, null, null, count);
+    }
+
     private TaskResponseDTO mapToDTO(Task task) {
         return new TaskResponseDTO(
                 task.getId(),
@@ -124,7 +336,8 @@ public class TaskService {
                 task.isCompleted(),
                 task.getDueDate(),
                 task.getProject().getId(),
-                task.getCreatedAt()
+                task.getCreatedAt(),
+                task.getVersion()
         );
     }
 
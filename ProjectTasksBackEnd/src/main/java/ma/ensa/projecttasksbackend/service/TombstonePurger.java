@@ -0,0 +1,43 @@
+package ma.ensa.projecttasksbackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ma.ensa.projecttasksbackend.repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes the tombstones older than {@code sync.tombstone-retention}. {@link SyncService} turns
+ * away watermarks that old, so no sync can miss them.
+ */
+@Component
+@Slf4j
+public class TombstonePurger {
+    private final TombstoneRepository tombstoneRepository;
+    private final Duration retention;
+
+    public TombstonePurger(
+            TombstoneRepository tombstoneRepository,
+            @Value("${sync.tombstone-retention:P30D}") Duration retention
+    ) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.retention = retention;
+    }
+
+    @Scheduled(
+            initialDelayString = "${sync.tombstone-purge.initial-delay:PT10M}",
+            fixedDelayString = "${sync.tombstone-purge.interval:PT6H}"
+    )
+    @Transactional
+    public int purge() {
+        int purged = tombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} tombstone(s) older than {}", purged, retention);
+        }
+        return purged;
+    }
+}
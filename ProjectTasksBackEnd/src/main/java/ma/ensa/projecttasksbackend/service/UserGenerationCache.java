@@ -0,0 +1,76 @@
+package ma.ensa.projecttasksbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Values computed for a user, such as {@link ProjectPageCache}'s pages and {@link DashboardCache}'s
+ * dashboards.
+ * <p>
+ * Values are keyed by the user's current generation. A write of that user moves it to a new
+ * generation once the write commits, which drops all of the user's values at once; the old entries
+ * are never read again and age out. A value read concurrently with the write is stored under the
+ * generation taken before the read, so it cannot outlive the write either. Entries also expire
+ * after {@code expireAfterWrite}, so that writes made by another instance show up after a bounded
+ * delay. With a {@code maxSize} of 0 nothing is cached and every read calls the loader.
+ */
+final class UserGenerationCache<K, V> {
+
+    // Generations are drawn from one counter, so a user whose generation was evicted gets a
+    // fresh one and never finds the values of an earlier one.
+    private final AtomicLong nextGeneration = new AtomicLong();
+    private final Cache<Long, Long> generations;
+
+    // Null when maxSize is 0.
+    private final Cache<Key<K>, V> values;
+
+    UserGenerationCache(MeterRegistry meterRegistry, String name, long maxSize, Duration expireAfterWrite) {
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 1))
+                .expireAfterAccess(expireAfterWrite)
+                .build();
+        this.values = maxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        if (values != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, values, name);
+        }
+    }
+
+    V get(Long userId, K key, Supplier<V> loader) {
+        if (values == null) {
+            return loader.get();
+        }
+        Key<K> generationKey = new Key<>(generation(userId), key);
+        V value = values.getIfPresent(generationKey);
+        if (value == null) {
+            // Loaded outside the cache's compute, which would hold a map lock across the queries.
+            value = loader.get();
+            values.put(generationKey, value);
+        }
+        return value;
+    }
+
+    void evictAfterCommit(Long userId) {
+        AfterCommit.run(() -> generations.put(userId, nextGeneration.incrementAndGet()));
+    }
+
+    void evictAllAfterCommit() {
+        AfterCommit.run(generations::invalidateAll);
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId, id -> nextGeneration.incrementAndGet());
+    }
+
+    private record Key<K>(long generation, K key) {
+    }
+}
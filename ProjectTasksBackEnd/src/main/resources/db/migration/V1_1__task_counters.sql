@@ -0,0 +1,9 @@
+-- Per-project task counters (Project.totalTasks, completedTasks), kept by
+-- ProjectRepository.adjustTaskCounters and repaired by TaskCounterReconciler. Existing projects
+-- are counted once here.
+ALTER TABLE project ADD COLUMN total_tasks INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE project ADD COLUMN completed_tasks INTEGER NOT NULL DEFAULT 0;
+
+UPDATE project p SET
+    total_tasks = (SELECT COUNT(*) FROM task t WHERE t.project_id = p.id),
+    completed_tasks = (SELECT COUNT(*) FROM task t WHERE t.project_id = p.id AND t.completed = TRUE);
@@ -0,0 +1,11 @@
+-- Task ids come from a pooled table generator (see Task) so that inserts can be batched, no longer
+-- from AUTO_INCREMENT. TaskIdGeneratorAligner moves the generator past the existing ids on startup.
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generator (sequence_name, next_val) VALUES ('task', 0);
+
+ALTER TABLE task MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,41 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update left it before migrations were introduced, and
+-- nothing more: databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and start from V1_1, so every later change has to be a
+-- migration of its own. Empty databases run it.
+
+CREATE TABLE user (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    email     VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    password  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKob8kqyqqgmefl0aco34akdtpe UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE project (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    created_at  DATETIME(6),
+    user_id     BIGINT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE task (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    due_date    DATE,
+    completed   BIT          NOT NULL,
+    created_at  DATETIME(6),
+    project_id  BIGINT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- MySQL gives each foreign key an index named after it. Created explicitly so that the index has
+-- that name on H2 too, where V2 drops it.
+CREATE INDEX FKo06v2e9kuapcugnyhttqa1vpt ON project (user_id);
+CREATE INDEX FKk8qrwowg31kx7hp93sru1pdqa ON task (project_id);
+
+ALTER TABLE project ADD CONSTRAINT FKo06v2e9kuapcugnyhttqa1vpt FOREIGN KEY (user_id) REFERENCES user (id);
+ALTER TABLE task ADD CONSTRAINT FKk8qrwowg31kx7hp93sru1pdqa FOREIGN KEY (project_id) REFERENCES project (id);
@@ -0,0 +1,25 @@
+-- Listing indexes. Projects are listed per user by created_at, id (ProjectRepository.findByUserId,
+-- findByUserIdAfter). Tasks are filtered on project_id, completed and a due_date range and ordered
+-- by created_at DESC, id DESC (TaskRepository.findByProject, findByProjectAfter,
+-- findExportRowsAfter).
+--
+-- Each index leads with its table's foreign key column and takes over from the foreign key's own
+-- index. A foreign key keeps the index it uses, so it is dropped and added back around the swap.
+
+ALTER TABLE project DROP CONSTRAINT FKo06v2e9kuapcugnyhttqa1vpt;
+DROP INDEX FKo06v2e9kuapcugnyhttqa1vpt ON project;
+CREATE INDEX idx_project_user_created ON project (user_id, created_at, id);
+ALTER TABLE project ADD CONSTRAINT FKo06v2e9kuapcugnyhttqa1vpt FOREIGN KEY (user_id) REFERENCES user (id);
+
+ALTER TABLE task DROP CONSTRAINT FKk8qrwowg31kx7hp93sru1pdqa;
+DROP INDEX FKk8qrwowg31kx7hp93sru1pdqa ON task;
+
+-- Without completed: rows in listing order, the due_date range checked in the index instead of on
+-- every row.
+CREATE INDEX idx_task_project_created ON task (project_id, created_at, id, due_date);
+
+-- With completed: equality on (project_id, completed), rows already in listing order, due_date
+-- checked in the index. Also covers the page COUNT, which no longer reads a single row.
+CREATE INDEX idx_task_project_completed_created ON task (project_id, completed, created_at, id, due_date);
+
+ALTER TABLE task ADD CONSTRAINT FKk8qrwowg31kx7hp93sru1pdqa FOREIGN KEY (project_id) REFERENCES project (id);
@@ -0,0 +1,4 @@
+-- Version of a project and of its task list, bumped by every project and task write
+-- (ProjectRepository.adjustTaskCounters, updateDetails, reconcileTaskCounters). Served as the
+-- ETag of GET /api/projects/{id} and GET /api/projects/{id}/tasks.
+ALTER TABLE project ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
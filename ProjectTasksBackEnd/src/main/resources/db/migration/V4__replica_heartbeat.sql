@@ -0,0 +1,9 @@
+-- Written on the primary and read back from the replica by ReplicaRouting to measure how far
+-- the replica lags behind. One row, the time of the last write in epoch milliseconds.
+CREATE TABLE replica_heartbeat (
+    id          INTEGER NOT NULL,
+    beat_millis BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, 0);
@@ -0,0 +1,22 @@
+-- Delta sync (GET /api/sync). updated_at is kept by the database on every insert and update,
+-- including the bulk updates of ProjectRepository and TaskRepository, so no write path can
+-- forget it. Counter adjustments touch the project row and so count as project changes.
+ALTER TABLE project ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+ALTER TABLE task ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_project_user_updated ON project (user_id, updated_at);
+CREATE INDEX idx_task_project_updated ON task (project_id, updated_at);
+
+-- One row per deleted project or task, written in the transaction of the delete and purged after
+-- sync.tombstone-retention. A project's tombstone stands for its tasks too.
+CREATE TABLE tombstone (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT      NOT NULL,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    deleted_at  DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_tombstone_user_deleted ON tombstone (user_id, deleted_at);
+CREATE INDEX idx_tombstone_deleted ON tombstone (deleted_at);
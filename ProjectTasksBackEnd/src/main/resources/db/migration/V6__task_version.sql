@@ -0,0 +1,4 @@
+-- Optimistic lock of a task (Task.version): checked and bumped by every entity update and checked
+-- by every entity delete; tasks are only written as entities, except when their project is deleted.
+-- Served as the ETag of PATCH /api/tasks/{id} and compared with its If-Match header.
+ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
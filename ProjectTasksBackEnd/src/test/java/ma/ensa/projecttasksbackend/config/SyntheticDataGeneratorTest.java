@@ -0,0 +1,82 @@
+package ma.ensa.projecttasksbackend.config;
+
+import ma.ensa.projecttasksbackend.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application with the {@code seed} profile on a database of its own and checks what
+ * the generator left behind.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "seed.users=4",
+        "seed.projects-per-user=5",
+        "seed.tasks=5000",
+        "seed.hot-projects=1",
+        "seed.hot-project-tasks=2000",
+        "seed.workers=3",
+        "seed.batch-size=300",
+        "seed.exit-when-done=false"
+})
+@ActiveProfiles({"test", "seed"})
+public class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Test
+    public void seedsSkewedProjectsWithConsistentCounters() throws Exception {
+        assertEquals(4, count("SELECT COUNT(*) FROM user"));
+        assertEquals(20, count("SELECT COUNT(*) FROM project"));
+        assertEquals(5000, count("SELECT COUNT(*) FROM task"));
+
+        List<Long> sizes = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM task GROUP BY project_id ORDER BY COUNT(*) DESC", Long.class);
+        assertEquals(2000, sizes.get(0));
+        assertTrue(sizes.get(1) > 4 * sizes.get(sizes.size() - 1), "Other projects follow a skewed curve: " + sizes);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM project p WHERE " +
+                "p.total_tasks <> (SELECT COUNT(*) FROM task t WHERE t.project_id = p.id) OR " +
+                "p.completed_tasks <> (SELECT COUNT(*) FROM task t WHERE t.project_id = p.id AND t.completed)"));
+        assertTrue(count("SELECT COUNT(*) FROM task WHERE completed") > 0);
+
+        long maxId = count("SELECT MAX(id) FROM task");
+        long nextVal = count("SELECT next_val FROM " + Task.ID_GENERATOR_TABLE + " WHERE sequence_name = '" + Task.ID_GENERATOR_SEGMENT + "'");
+        assertTrue(nextVal > maxId + Task.ID_ALLOCATION_SIZE, "Id generator moved past the seeded tasks");
+    }
+
+    @Test
+    public void everyUserSharesOnePasswordHash() {
+        List<String> hashes = jdbcTemplate.queryForList("SELECT DISTINCT password FROM user", String.class);
+        assertEquals(1, hashes.size());
+        assertTrue(passwordEncoder.matches("password123", hashes.get(0)));
+    }
+
+    @Test
+    public void skipsAlreadySeededDatabase() throws Exception {
+        generator.generate();
+
+        assertEquals(4, count("SELECT COUNT(*) FROM user"));
+        assertEquals(5000, count("SELECT COUNT(*) FROM task"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,167 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.dto.auth.RegisterRequestDTO;
+import ma.ensa.projecttasksbackend.dto.project.CreateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Checks the ETags of a project and of its task list: a matching If-None-Match is answered
+ * with 304 from the project's version alone, and every project or task write changes the ETag.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private String token;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    public void register() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        token = register("etag@example.com");
+        projectId = json(perform(post("/api/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateProjectDTO("Versioned", null)))), "id");
+        taskId = json(perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", null, null)))), "id");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void answersNotModifiedFromVersionAlone() throws Exception {
+        for (String uri : new String[]{"/api/projects/" + projectId, "/api/projects/" + projectId + "/tasks"}) {
+            String etag = etag(uri);
+            assertNotNull(etag);
+
+            MockHttpServletResponse response = perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+            assertEquals(304, response.getStatus());
+            assertEquals("", response.getContentAsString());
+            assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+            assertEquals(0, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Test
+    public void changesETagOnTaskWrites() throws Exception {
+        String tasks = "/api/projects/" + projectId + "/tasks";
+        String before = etag(tasks);
+
+        perform(put("/api/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Renamed", null, null, null))));
+        String afterUpdate = etag(tasks);
+        assertNotEquals(before, afterUpdate);
+        assertEquals(200, perform(get(tasks).header(HttpHeaders.IF_NONE_MATCH, before)).getStatus());
+
+        perform(patch("/api/tasks/" + taskId + "/complete"));
+        String afterCompletion = etag("/api/projects/" + projectId);
+        assertNotEquals(afterUpdate, afterCompletion);
+
+        perform(delete("/api/tasks/" + taskId));
+        assertNotEquals(afterCompletion, etag(tasks));
+    }
+
+    @Test
+    public void changesETagOnProjectUpdate() throws Exception {
+        String project = "/api/projects/" + projectId;
+        String before = etag(project);
+
+        perform(put(project)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateProjectDTO("Renamed", null))));
+
+        MockHttpServletResponse response = perform(get(project).header(HttpHeaders.IF_NONE_MATCH, before));
+        assertEquals(200, response.getStatus());
+        assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void checksOwnershipBeforeVersion() throws Exception {
+        String etag = etag("/api/projects/" + projectId);
+        token = register("stranger@example.com");
+
+        assertEquals(404, perform(get("/api/projects/" + projectId).header(HttpHeaders.IF_NONE_MATCH, etag)).getStatus());
+        assertEquals(404, perform(get("/api/projects/" + projectId + "/tasks").header(HttpHeaders.IF_NONE_MATCH, etag)).getStatus());
+    }
+
+    private String etag(String uri) throws Exception {
+        MockHttpServletResponse response = perform(get(uri));
+        assertEquals(200, response.getStatus());
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private String register(String email) throws Exception {
+        token = null;
+        MockHttpServletResponse response = perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequestDTO("ETag User", email, "password"))));
+        return objectMapper.readTree(response.getContentAsString()).get("accessToken").asText();
+    }
+
+    private Long json(MockHttpServletResponse response, String field) throws Exception {
+        return objectMapper.readTree(response.getContentAsString()).get(field).asLong();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
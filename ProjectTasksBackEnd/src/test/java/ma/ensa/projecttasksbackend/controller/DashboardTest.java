@@ -0,0 +1,187 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.dto.auth.RegisterRequestDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the dashboard buckets over two projects, that they take a single statement and are then
+ * served from the cache, and that task writes show up on the next read. Tasks due in the past
+ * cannot be created through the API, so the initial tasks are saved directly.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DashboardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private String token;
+    private Long projectId;
+    private Long dueTodayId;
+
+    @BeforeEach
+    public void seed() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        token = register("dashboard@example.com");
+
+        LocalDate today = LocalDate.now();
+        LocalDate nextWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)).plusDays(1);
+        Project first = project("First");
+        Project second = project("Second");
+        projectId = first.getId();
+        task(first, today.minusDays(1), false);
+        dueTodayId = task(first, today, false).getId();
+        task(second, nextWeek, false);
+        task(second, today.minusDays(1), true);
+        task(second, null, false);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void countsBucketsInOneStatement() throws Exception {
+        JsonNode dashboard = perform(get("/api/dashboard"), status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(LocalDate.now().toString(), dashboard.get("date").asText());
+        assertDashboard(dashboard, 5, 1, 1, 1, 1);
+    }
+
+    @Test
+    public void servesRepeatedReadsFromCache() throws Exception {
+        perform(get("/api/dashboard"), status().isOk());
+
+        JsonNode dashboard = perform(get("/api/dashboard"), status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertDashboard(dashboard, 5, 1, 1, 1, 1);
+    }
+
+    @Test
+    public void showsTaskWrites() throws Exception {
+        perform(get("/api/dashboard"), status().isOk());
+
+        Long created = perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO("New", null, null))),
+                status().isCreated()).get("id").asLong();
+        assertDashboard(perform(get("/api/dashboard"), status().isOk()), 6, 1, 1, 1, 1);
+
+        perform(put("/api/tasks/" + dueTodayId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Undated", null, null, null))),
+                status().isOk());
+        assertDashboard(perform(get("/api/dashboard"), status().isOk()), 6, 1, 1, 0, 0);
+
+        perform(patch("/api/tasks/" + created + "/complete"), status().isOk());
+        assertDashboard(perform(get("/api/dashboard"), status().isOk()), 6, 2, 1, 0, 0);
+
+        perform(delete("/api/projects/" + projectId), status().isNoContent());
+        assertDashboard(perform(get("/api/dashboard"), status().isOk()), 3, 1, 0, 0, 0);
+    }
+
+    @Test
+    public void keepsUsersApart() throws Exception {
+        perform(get("/api/dashboard"), status().isOk());
+
+        token = register("other@example.com");
+
+        assertDashboard(perform(get("/api/dashboard"), status().isOk()), 0, 0, 0, 0, 0);
+    }
+
+    private void assertDashboard(JsonNode dashboard, long total, long completed, long overdue, long dueToday, long dueThisWeek) {
+        assertEquals(total, dashboard.get("totalTasks").asLong());
+        assertEquals(completed, dashboard.get("completedTasks").asLong());
+        assertEquals(overdue, dashboard.get("overdueTasks").asLong());
+        assertEquals(dueToday, dashboard.get("dueTodayTasks").asLong());
+        assertEquals(dueThisWeek, dashboard.get("dueThisWeekTasks").asLong());
+    }
+
+    private Project project(String title) {
+        return projectRepository.save(Project.builder()
+                .title(title)
+                .user(userRepository.findByEmail("dashboard@example.com").orElseThrow())
+                .build());
+    }
+
+    private Task task(Project project, LocalDate dueDate, boolean completed) {
+        return taskRepository.save(Task.builder()
+                .title("Task")
+                .dueDate(dueDate == null ? null : Date.valueOf(dueDate))
+                .completed(completed)
+                .project(project)
+                .build());
+    }
+
+    private String register(String email) throws Exception {
+        token = null;
+        return perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequestDTO("Dashboard User", email, "password"))),
+                status().isOk()).get("accessToken").asText();
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        statistics.clear();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+}
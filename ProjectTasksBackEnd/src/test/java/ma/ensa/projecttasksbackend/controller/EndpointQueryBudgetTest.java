@@ -0,0 +1,324 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
+import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import ma.ensa.projecttasksbackend.service.TaskCounterReconciler;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every controller endpoint through the full filter chain against H2 and fails when
+ * the number of SQL statements or hydrated entities exceeds the endpoint's budget.
+ * The seeded project holds {@link #TASKS} tasks, so an N+1 or an eager collection
+ * shows up as a count proportional to it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Budgets count the endpoints' own statements. With the default user lookup, the first request
+        // of a token also reads its user; later ones hit the query cache (SecondLevelCacheTest).
+        "jwt.stateless=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EndpointQueryBudgetTest {
+
+    private static final int TASKS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterReconciler taskCounterReconciler;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Statistics statistics;
+    private String token;
+    private Long projectId;
+    private Long taskId;
+    private List<Long> projectTaskIds;
+
+    @BeforeEach
+    public void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = userRepository.save(User.builder()
+                .fullName("Budget User")
+                .email("budget@example.com")
+                .password("password")
+                .build());
+        token = jwtService.generateToken(new UserPrincipal(user));
+
+        List<Project> projects = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            projects.add(projectRepository.save(Project.builder()
+                    .title("Project " + p)
+                    .user(user)
+                    .build()));
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (Project project : projects) {
+            for (int t = 0; t < TASKS; t++) {
+                tasks.add(Task.builder()
+                        .title("Task " + t)
+                        .completed(t % 2 == 0)
+                        .project(project)
+                        .build());
+            }
+        }
+        taskRepository.saveAll(tasks);
+        taskCounterReconciler.reconcile();
+
+        projectId = projects.get(0).getId();
+        taskId = tasks.get(1).getId();
+        projectTaskIds = tasks.subList(0, TASKS).stream().map(Task::getId).toList();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void listProjects() throws Exception {
+        perform(get("/api/projects"), status().isOk());
+        assertBudget(1, 3);
+    }
+
+    @Test
+    public void listProjectsByCursor() throws Exception {
+        JsonNode page = perform(get("/api/projects").param("cursor", "").param("size", "2"), status().isOk());
+        assertBudget(1, 3);
+        perform(get("/api/projects").param("cursor", page.get("nextCursor").asText()).param("size", "2"), status().isOk());
+        assertBudget(1, 1);
+    }
+
+    @Test
+    public void getProject() throws Exception {
+        perform(get("/api/projects/" + projectId), status().isOk());
+        assertBudget(1, 1);
+    }
+
+    @Test
+    public void updateProject() throws Exception {
+        perform(put("/api/projects/" + projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateProjectDTO("Renamed", null))), status().isOk());
+        assertBudget(2, 1);
+    }
+
+    @Test
+    public void deleteProject() throws Exception {
+        perform(delete("/api/projects/" + projectId), status().isNoContent());
+        // Including the tombstone read by GET /api/sync.
+        assertBudget(4, 0);
+    }
+
+    @Test
+    public void createTask() throws Exception {
+        perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO("New task", null, null))), status().isCreated());
+        assertBudget(3, 0);
+    }
+
+    @Test
+    public void listTasks() throws Exception {
+        perform(get("/api/projects/" + projectId + "/tasks"), status().isOk());
+        assertBudget(3, 10);
+    }
+
+    @Test
+    public void createTasksInBatch() throws Exception {
+        List<TaskCreateDTO> tasks = new ArrayList<>();
+        for (int t = 0; t < TASKS; t++) {
+            tasks.add(new TaskCreateDTO("Batch task " + t, null, null));
+        }
+        perform(post("/api/projects/" + projectId + "/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskBatchCreateDTO(tasks))), status().isCreated());
+        assertBudget(3, 0);
+    }
+
+    @Test
+    public void completeTasksInBatch() throws Exception {
+        perform(post("/api/projects/" + projectId + "/tasks:complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskIdsDTO(projectTaskIds))), status().isOk());
+        // The tasks are loaded, and their updates go out as one JDBC batch.
+        assertBudget(4, TASKS);
+    }
+
+    @Test
+    public void deleteTasksInBatch() throws Exception {
+        perform(post("/api/projects/" + projectId + "/tasks:delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskIdsDTO(projectTaskIds))), status().isOk());
+        // Including the tombstones, one statement for the whole batch. The tasks are loaded, and their
+        // deletes go out as one JDBC batch.
+        assertBudget(5, TASKS);
+    }
+
+    @Test
+    public void searchTasks() throws Exception {
+        perform(get("/api/projects/" + projectId + "/tasks").param("query", "task 1"), status().isOk());
+        assertBudget(3, 10);
+        perform(get("/api/projects/" + projectId + "/tasks").param("query", "task 2"), status().isOk());
+        assertBudget(2, 10);
+    }
+
+    @Test
+    public void exportTasks() throws Exception {
+        statistics.clear();
+        MvcResult result = mockMvc.perform(get("/api/projects/" + projectId + "/tasks:export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertBudget(2, 0);
+    }
+
+    @Test
+    public void listTasksByCursor() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        String cursor = "";
+        while (cursor != null) {
+            JsonNode page = perform(get("/api/projects/" + projectId + "/tasks")
+                    .param("cursor", cursor)
+                    .param("size", "10"), status().isOk());
+            assertBudget(2, 11);
+            page.get("content").forEach(task -> assertTrue(seen.add(task.get("id").asLong())));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        }
+        assertEquals(TASKS, seen.size());
+    }
+
+    @Test
+    public void cursorPageSizeIsClamped() throws Exception {
+        JsonNode page = perform(get("/api/projects/" + projectId + "/tasks").param("cursor", "").param("size", "0"), status().isOk());
+        assertEquals(1, page.get("content").size());
+        page = perform(get("/api/projects/" + projectId + "/tasks").param("cursor", "").param("size", "1000000"), status().isOk());
+        assertEquals(CursorPagedResponse.MAX_SIZE, page.get("size").asInt());
+        assertBudget(2, CursorPagedResponse.MAX_SIZE + 1);
+    }
+
+    @Test
+    public void updateTask() throws Exception {
+        perform(put("/api/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Edited", null, null, true))), status().isOk());
+        assertBudget(3, 1);
+    }
+
+    @Test
+    public void patchTask() throws Exception {
+        perform(patch("/api/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Edited\"}"), status().isOk());
+        assertBudget(3, 1);
+    }
+
+    @Test
+    public void completeTask() throws Exception {
+        perform(patch("/api/tasks/" + taskId + "/complete"), status().isOk());
+        assertBudget(3, 1);
+    }
+
+    @Test
+    public void deleteTask() throws Exception {
+        perform(delete("/api/tasks/" + taskId), status().isNoContent());
+        // Including the tombstone read by GET /api/sync.
+        assertBudget(4, 1);
+    }
+
+    @Test
+    public void otherUsersTaskIsNotFound() throws Exception {
+        User stranger = userRepository.save(User.builder()
+                .fullName("Stranger")
+                .email("stranger@example.com")
+                .password("password")
+                .build());
+        token = jwtService.generateToken(new UserPrincipal(stranger));
+
+        perform(patch("/api/tasks/" + taskId + "/complete"), status().isNotFound());
+        assertBudget(1, 0);
+        perform(get("/api/projects/" + projectId + "/tasks"), status().isNotFound());
+        assertBudget(1, 0);
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        statistics.clear();
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+
+    private void assertBudget(long maxStatements, long maxEntities) {
+        long statements = statistics.getPrepareStatementCount();
+        long entities = statistics.getEntityLoadCount();
+        long collections = statistics.getCollectionLoadCount();
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " SQL statements but was " + statements);
+        assertTrue(entities <= maxEntities,
+                "Expected at most " + maxEntities + " loaded entities but was " + entities);
+        assertTrue(collections == 0,
+                "Expected no collection to be initialized but was " + collections);
+    }
+}
@@ -0,0 +1,98 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.dto.auth.LoginRequestDTO;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logs in, lists projects and checks that the request, service, repository, JWT, BCrypt, pool
+ * and Hibernate metrics show up on {@code /actuator/prometheus} with their outcome tags.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void cleanUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void exportsTimersWithOutcomeTags() throws Exception {
+        userRepository.save(User.builder()
+                .fullName("Metrics User")
+                .email("metrics@example.com")
+                .password(passwordEncoder.encode("password"))
+                .build());
+
+        String token = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequestDTO("metrics@example.com", "password"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("accessToken").asText();
+        mockMvc.perform(get("/api/projects").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertHasSeries(scrape, "http_server_requests_seconds_bucket", "outcome=\"SUCCESS\"", "uri=\"/api/projects\"");
+        assertHasSeries(scrape, "http_server_requests_seconds_bucket", "le=\"+Inf\"", "uri=\"/api/auth/login\"");
+        assertHasSeries(scrape, "tasks_service_seconds_count", "class=\"ProjectService\"", "outcome=\"SUCCESS\"");
+        assertHasSeries(scrape, "spring_data_repository_invocations_seconds_count", "repository=\"ProjectRepository\"", "state=\"SUCCESS\"");
+        assertHasSeries(scrape, "security_jwt_filter_seconds_count", "outcome=\"SUCCESS\"", "phase=\"parse\"");
+        assertHasSeries(scrape, "security_jwt_filter_seconds_count", "phase=\"lookup\"", "source=\"claims\"");
+        assertHasSeries(scrape, "security_password_encoder_seconds_count", "operation=\"matches\"", "outcome=\"MATCH\"");
+        assertHasSeries(scrape, "hikaricp_connections_active");
+        assertHasSeries(scrape, "hibernate_statements_total");
+    }
+
+    private static void assertHasSeries(String scrape, String name, String... labels) {
+        boolean found = scrape.lines()
+                .filter(line -> line.startsWith(name + "{") || line.startsWith(name + " "))
+                .anyMatch(line -> {
+                    for (String label : labels) {
+                        if (!line.contains(label)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+        assertTrue(found, () -> "No " + name + " series with " + String.join(", ", labels) + " in:\n"
+                + scrape.lines().filter(line -> line.startsWith(name.split("_seconds|_total")[0])).limit(20).toList());
+    }
+}
@@ -1,6 +1,7 @@
 package ma.ensa.projecttasksbackend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
 import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
 import ma.ensa.projecttasksbackend.dto.project.CreateProjectDTO;
 import ma.ensa.projecttasksbackend.dto.project.ProjectResponseDTO;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -96,6 +98,45 @@ public class ProjectControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    public void testGetUserProjects_SortedByProgress() throws Exception {
+        ProjectResponseDTO project = new ProjectResponseDTO(1L, "Test Project", "Description", LocalDateTime.now(), 4, 4, 100.0);
+        PagedResponse<ProjectResponseDTO> pagedResponse = new PagedResponse<>(Collections.singletonList(project), 0, 10, 1L, 1, true);
+
+        when(projectService.getCurrentUserProjects(any(Pageable.class))).thenReturn(pagedResponse);
+
+        mockMvc.perform(get("/api/projects")
+                        .param("sortBy", "PROGRESS")
+                        .param("direction", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].progressPercentage").value(100.0));
+
+        verify(projectService).getCurrentUserProjects(argThat(pageable ->
+                pageable.getSort().equals(Sort.by("progress").descending().and(Sort.by("createdAt").descending()))));
+    }
+
+    @Test
+    public void testGetUserProjects_InvalidSort() throws Exception {
+        mockMvc.perform(get("/api/projects").param("sortBy", "unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetUserProjects_WithCursor() throws Exception {
+        ProjectResponseDTO project = new ProjectResponseDTO(2L, "Older Project", "Description", LocalDateTime.now(), 0, 0, 0.0);
+        CursorPagedResponse<ProjectResponseDTO> cursorResponse = new CursorPagedResponse<>(Collections.singletonList(project), 10, null, true);
+
+        when(projectService.getCurrentUserProjectsAfter("abc", 10)).thenReturn(cursorResponse);
+
+        mockMvc.perform(get("/api/projects").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Older Project"))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(projectService, never()).getCurrentUserProjects(any(Pageable.class));
+    }
+
     @Test
     public void testGetProjectById_Success() throws Exception {
         ProjectResponseDTO response = new ProjectResponseDTO(1L, "Test Project", "Test Description", LocalDateTime.now(), 10, 7, 70.0);
@@ -0,0 +1,198 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.dto.auth.RegisterRequestDTO;
+import ma.ensa.projecttasksbackend.dto.project.CreateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.service.ProjectPageCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that project list pages are served from {@link ProjectPageCache} once loaded, and that
+ * every project or task write of the user shows up on the next listing.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Registering a second user invalidates the cached user lookups; the counts are the listing's.
+        "jwt.stateless=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ProjectPageCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private String token;
+    private Long projectId;
+
+    @BeforeEach
+    public void register() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        token = register("pages@example.com");
+        projectId = perform(post("/api/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateProjectDTO("Listed", "First"))),
+                status().isCreated()).get("id").asLong();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void servesRepeatedListingFromCache() throws Exception {
+        perform(get("/api/projects"), status().isOk());
+        double hits = hits();
+
+        JsonNode page = perform(get("/api/projects"), status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hits + 1, hits());
+        assertEquals(1, page.get("totalElements").asInt());
+    }
+
+    @Test
+    public void keepsPagesAndSortsApart() throws Exception {
+        perform(post("/api/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateProjectDTO("Second", null))), status().isCreated());
+
+        JsonNode newest = perform(get("/api/projects").param("size", "1"), status().isOk());
+        JsonNode oldest = perform(get("/api/projects").param("size", "1").param("direction", "ASC"), status().isOk());
+
+        assertEquals("Second", newest.get("content").get(0).get("title").asText());
+        assertEquals("Listed", oldest.get("content").get(0).get("title").asText());
+    }
+
+    @Test
+    public void showsCreatedUpdatedAndDeletedProjects() throws Exception {
+        perform(get("/api/projects"), status().isOk());
+        Long created = perform(post("/api/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateProjectDTO("Second", null))),
+                status().isCreated()).get("id").asLong();
+        assertEquals(2, perform(get("/api/projects"), status().isOk()).get("totalElements").asInt());
+
+        perform(put("/api/projects/" + projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateProjectDTO("Renamed", null))), status().isOk());
+        JsonNode page = perform(get("/api/projects").param("direction", "ASC"), status().isOk());
+        assertEquals("Renamed", page.get("content").get(0).get("title").asText());
+
+        perform(delete("/api/projects/" + created), status().isNoContent());
+        assertEquals(1, perform(get("/api/projects"), status().isOk()).get("totalElements").asInt());
+    }
+
+    @Test
+    public void showsProgressAfterTaskWrites() throws Exception {
+        perform(get("/api/projects"), status().isOk());
+        Long taskId = perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", null, null))),
+                status().isCreated()).get("id").asLong();
+        assertEquals(1, project().get("totalTasks").asInt());
+
+        perform(patch("/api/tasks/" + taskId + "/complete"), status().isOk());
+        assertEquals(100.0, project().get("progressPercentage").asDouble());
+
+        perform(delete("/api/tasks/" + taskId), status().isNoContent());
+        assertEquals(0, project().get("totalTasks").asInt());
+    }
+
+    @Test
+    public void keepsUsersApart() throws Exception {
+        perform(get("/api/projects"), status().isOk());
+        String owner = token;
+        token = register("other@example.com");
+
+        assertEquals(0, perform(get("/api/projects"), status().isOk()).get("totalElements").asInt());
+        perform(post("/api/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateProjectDTO("Other", null))), status().isCreated());
+
+        token = owner;
+        JsonNode page = perform(get("/api/projects"), status().isOk());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Listed", page.get("content").get(0).get("title").asText());
+    }
+
+    private JsonNode project() throws Exception {
+        JsonNode page = perform(get("/api/projects"), status().isOk());
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+        return page.get("content").get(0);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ProjectPageCache.NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private String register(String email) throws Exception {
+        token = null;
+        return perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequestDTO("Page User", email, "password"))),
+                status().isOk()).get("accessToken").asText();
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        statistics.clear();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+}
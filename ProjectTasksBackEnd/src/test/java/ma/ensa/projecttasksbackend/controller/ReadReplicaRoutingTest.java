@@ -0,0 +1,166 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.config.ReplicaRouting;
+import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application on two separate in-memory databases, a primary and a replica that
+ * nothing replicates to, seeded with different titles for the same project. The title in a
+ * response shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "datasource.replica.max-lag=PT2S",
+        "datasource.replica.sticky-for=PT1M",
+        // Heartbeats are driven by the tests.
+        "datasource.replica.heartbeat-interval=PT1H",
+        // Caches would hide which database a read went to.
+        "entity-cache.enabled=false",
+        "projects.page-cache.max-size=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+
+    // Users stay sticky across tests, so every test gets users of its own.
+    private static final AtomicLong IDS = new AtomicLong(1000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private String token;
+    private long projectId;
+
+    @BeforeEach
+    public void seed() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        token = seedUser();
+        replicateHeartbeat();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        for (JdbcTemplate database : new JdbcTemplate[]{primary, replica}) {
+            database.update("DELETE FROM task");
+            database.update("DELETE FROM project");
+            database.update("DELETE FROM user");
+        }
+    }
+
+    @Test
+    public void readsFromReplica() throws Exception {
+        assertEquals("On replica", perform(get("/api/projects/" + projectId)).get("title").asText());
+        assertEquals("On replica", perform(get("/api/projects")).get("content").get(0).get("title").asText());
+        assertEquals(0, perform(get("/api/projects/" + projectId + "/tasks")).get("totalElements").asInt());
+    }
+
+    @Test
+    public void writesToPrimaryAndReadsOwnWrites() throws Exception {
+        perform(put("/api/projects/" + projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateProjectDTO("Renamed", null))));
+
+        assertEquals("Renamed", primary.queryForObject("SELECT title FROM project WHERE id = ?", String.class, projectId));
+        assertEquals("On replica", replica.queryForObject("SELECT title FROM project WHERE id = ?", String.class, projectId));
+        assertEquals("Renamed", perform(get("/api/projects/" + projectId)).get("title").asText());
+    }
+
+    @Test
+    public void keepsOtherUsersOnReplicaAfterWrite() throws Exception {
+        String writer = token;
+        long writerProject = projectId;
+        String reader = seedUser();
+
+        token = writer;
+        perform(put("/api/projects/" + writerProject)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateProjectDTO("Renamed", null))));
+
+        token = reader;
+        assertEquals("On replica", perform(get("/api/projects/" + projectId)).get("title").asText());
+    }
+
+    @Test
+    public void readsFromPrimaryWhileReplicaLags() throws Exception {
+        replica.update("UPDATE replica_heartbeat SET beat_millis = 0 WHERE id = 1");
+        replicaRouting.checkLag();
+
+        assertFalse(replicaRouting.isInSync());
+        assertEquals("On primary", perform(get("/api/projects/" + projectId)).get("title").asText());
+
+        replicateHeartbeat();
+        assertEquals("On replica", perform(get("/api/projects/" + projectId)).get("title").asText());
+    }
+
+    // Same user and project on both databases, with a title telling them apart.
+    private String seedUser() {
+        long userId = IDS.incrementAndGet();
+        projectId = IDS.incrementAndGet();
+        for (JdbcTemplate database : new JdbcTemplate[]{primary, replica}) {
+            database.update("INSERT INTO user (id, full_name, email, password) VALUES (?, ?, ?, ?)",
+                    userId, "Routed User", "routed" + userId + "@example.com", "password");
+            database.update("INSERT INTO project (id, title, created_at, total_tasks, completed_tasks, version, user_id) " +
+                            "VALUES (?, ?, CURRENT_TIMESTAMP, 0, 0, 0, ?)",
+                    projectId, database == primary ? "On primary" : "On replica", userId);
+        }
+        User user = User.builder().id(userId).fullName("Routed User").email("routed" + userId + "@example.com").build();
+        return jwtService.generateToken(new UserPrincipal(user));
+    }
+
+    // Stands in for replication: the replica has seen the primary's latest heartbeat.
+    private void replicateHeartbeat() {
+        replica.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis() + 60_000);
+        replicaRouting.checkLag();
+        assertTrue(replicaRouting.isInSync());
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        request.header("Authorization", "Bearer " + token);
+        String body = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,193 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.projecttasksbackend.dto.auth.LoginRequestDTO;
+import ma.ensa.projecttasksbackend.dto.auth.RegisterRequestDTO;
+import ma.ensa.projecttasksbackend.dto.project.CreateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.project.UpdateProjectDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that users are served from the second-level cache once read, that project ownership
+ * stays a single query, and that every write through the API is visible to the next read: no
+ * response may come from a stale entry.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private String token;
+    private Long projectId;
+
+    @BeforeEach
+    public void register() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        token = perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequestDTO("Cache User", "cache@example.com", "password"))),
+                status().isOk()).get("accessToken").asText();
+        projectId = perform(post("/api/projects")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateProjectDTO("Cached", "First"))),
+                status().isCreated()).get("id").asLong();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void readsProjectWithOneOwnershipQuery() throws Exception {
+        perform(get("/api/projects/" + projectId), status().isOk());
+        perform(get("/api/projects/" + projectId), status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void showsUpdatedProject() throws Exception {
+        perform(get("/api/projects/" + projectId), status().isOk());
+        perform(put("/api/projects/" + projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateProjectDTO("Renamed", "Second"))), status().isOk());
+
+        JsonNode project = perform(get("/api/projects/" + projectId), status().isOk());
+        assertEquals("Renamed", project.get("title").asText());
+        assertEquals("Second", project.get("description").asText());
+    }
+
+    @Test
+    public void showsTaskCountersAfterTaskWrites() throws Exception {
+        perform(get("/api/projects/" + projectId), status().isOk());
+        Long taskId = perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO("Task", null, null))),
+                status().isCreated()).get("id").asLong();
+        perform(patch("/api/tasks/" + taskId + "/complete"), status().isOk());
+
+        JsonNode project = perform(get("/api/projects/" + projectId), status().isOk());
+        assertEquals(1, project.get("totalTasks").asInt());
+        assertEquals(1, project.get("completedTasks").asInt());
+    }
+
+    @Test
+    public void completionKeepsOtherTasksCached() throws Exception {
+        Long first = createTask("First");
+        Long second = createTask("Second");
+        perform(post("/api/projects/" + projectId + "/tasks:complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskIdsDTO(List.of(first)))), status().isOk());
+        assertTrue(entityManagerFactory.getCache().contains(Task.class, second));
+
+        perform(patch("/api/tasks/" + second + "/complete"), status().isOk());
+        assertTrue(entityManagerFactory.getCache().contains(Task.class, first));
+    }
+
+    @Test
+    public void forgetsDeletedProject() throws Exception {
+        perform(get("/api/projects/" + projectId), status().isOk());
+        perform(delete("/api/projects/" + projectId), status().isNoContent());
+
+        perform(get("/api/projects/" + projectId), status().isNotFound());
+    }
+
+    @Test
+    public void keepsOtherUsersProjectsHidden() throws Exception {
+        perform(get("/api/projects/" + projectId), status().isOk());
+        token = perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequestDTO("Stranger", "stranger@example.com", "password"))),
+                status().isOk()).get("accessToken").asText();
+
+        perform(get("/api/projects/" + projectId), status().isNotFound());
+        perform(get("/api/projects/" + projectId + "/tasks"), status().isNotFound());
+    }
+
+    @Test
+    public void logsInUserRegisteredAfterFailedLogin() throws Exception {
+        LoginRequestDTO login = new LoginRequestDTO("late@example.com", "password");
+        perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)), status().isUnauthorized());
+        perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequestDTO("Late User", "late@example.com", "password"))),
+                status().isOk());
+
+        perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)), status().isOk());
+        perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)), status().isOk());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private Long createTask(String title) throws Exception {
+        return perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO(title, null, null))),
+                status().isCreated()).get("id").asLong();
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        statistics.clear();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,76 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ma.ensa.projecttasksbackend.config.StartupWarmUp;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts Tomcat on a random port and checks that the warm-up sends its requests through the whole
+ * stack before readiness reports UP, and leaves nothing behind in the database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.endpoint.health.probes.enabled=true",
+        "management.endpoint.health.group.readiness.include=readinessState,warmUp",
+        "warm-up.requests=300",
+        "warm-up.clients=2"
+})
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class StartupWarmUpTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private StartupWarmUp warmUp;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    public void turnsReadyOnceWarmedUp() throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!warmUp.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(warmUp.isDone(), "Warm-up finished");
+
+        ResponseEntity<String> readiness = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+        assertEquals(HttpStatus.OK, readiness.getStatusCode());
+        assertTrue(readiness.getBody().contains("\"UP\""), readiness.getBody());
+
+        // One request in two is a login rejected by validation; the accounts were rolled back.
+        Timer logins = meterRegistry.find("http.server.requests")
+                .tags("uri", "/api/auth/login", "status", "400")
+                .timer();
+        assertTrue(logins != null && logins.count() >= 100, "Warm-up requests were served");
+        assertEquals(0, userRepository.count());
+        assertEquals(0, projectRepository.count());
+        assertEquals(0, taskRepository.count());
+    }
+}
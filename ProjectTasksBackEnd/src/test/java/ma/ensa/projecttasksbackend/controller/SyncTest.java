@@ -0,0 +1,218 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.dto.sync.SyncWatermark;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.TombstoneRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Syncs a user's projects and tasks through {@code GET /api/sync}: everything in id-ordered
+ * batches first, then only what changed since the returned watermark, deletions included. The
+ * settle time is off so that writes show up on the very next sync.
+ */
+@SpringBootTest(properties = "sync.settle-time=PT0S")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SyncTest {
+
+    private static final int TASKS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private Long projectId;
+    private Long otherProjectId;
+    private List<Long> taskIds;
+
+    @BeforeEach
+    public void seed() {
+        User user = userRepository.save(User.builder()
+                .fullName("Sync User")
+                .email("sync@example.com")
+                .password("password")
+                .build());
+        token = jwtService.generateToken(new UserPrincipal(user));
+
+        Project project = projectRepository.save(Project.builder().title("Synced").user(user).totalTasks(TASKS).build());
+        Project other = projectRepository.save(Project.builder().title("Other").user(user).build());
+        projectId = project.getId();
+        otherProjectId = other.getId();
+        taskIds = taskRepository.saveAll(IntStream.range(0, TASKS)
+                        .mapToObj(i -> Task.builder().title("Task " + i).project(project).build())
+                        .toList())
+                .stream()
+                .map(Task::getId)
+                .toList();
+
+        User stranger = userRepository.save(User.builder()
+                .fullName("Stranger")
+                .email("sync-stranger@example.com")
+                .password("password")
+                .build());
+        Project foreign = projectRepository.save(Project.builder().title("Foreign").user(stranger).build());
+        taskRepository.save(Task.builder().title("Foreign task").project(foreign).build());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        tombstoneRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void fullSyncReturnsEverythingInBatches() throws Exception {
+        List<Long> projects = new ArrayList<>();
+        List<Long> tasks = new ArrayList<>();
+        String watermark = "";
+        JsonNode batch;
+        int batches = 0;
+        do {
+            batch = sync(watermark, 3);
+            batch.get("projects").forEach(project -> projects.add(project.get("id").asLong()));
+            batch.get("tasks").forEach(task -> tasks.add(task.get("id").asLong()));
+            assertTrue(batch.get("deletedTaskIds").isEmpty());
+            watermark = batch.get("watermark").asText();
+            batches++;
+        } while (batch.get("hasMore").asBoolean());
+
+        assertEquals(3, batches);
+        assertEquals(List.of(projectId, otherProjectId), projects);
+        assertEquals(taskIds, tasks);
+    }
+
+    @Test
+    public void incrementalSyncReturnsOnlyChanges() throws Exception {
+        String watermark = syncAll();
+
+        Long created = perform(post("/api/projects/" + otherProjectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO("Created", null, null))),
+                status().isCreated()).get("id").asLong();
+        perform(put("/api/tasks/" + taskIds.get(1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Edited", null, null, true))),
+                status().isOk());
+        perform(delete("/api/tasks/" + taskIds.get(2)), status().isNoContent());
+        perform(post("/api/projects/" + projectId + "/tasks:delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskIdsDTO(List.of(taskIds.get(4), taskIds.get(3))))),
+                status().isOk());
+
+        JsonNode changes = sync(watermark, 100);
+        assertFalse(changes.get("hasMore").asBoolean());
+        // Both projects: their counters changed.
+        assertEquals(List.of(projectId, otherProjectId), ids(changes.get("projects"), "id"));
+        assertEquals(List.of(taskIds.get(1), created), ids(changes.get("tasks"), "id"));
+        assertEquals("Edited", changes.get("tasks").get(0).get("title").asText());
+        assertEquals(List.of(taskIds.get(2), taskIds.get(3), taskIds.get(4)), ids(changes.get("deletedTaskIds")).stream().sorted().toList());
+        assertTrue(changes.get("deletedProjectIds").isEmpty());
+
+        JsonNode nothing = sync(changes.get("watermark").asText(), 100);
+        assertTrue(nothing.get("projects").isEmpty());
+        assertTrue(nothing.get("tasks").isEmpty());
+        assertTrue(nothing.get("deletedTaskIds").isEmpty());
+    }
+
+    @Test
+    public void deletedProjectStandsForItsTasks() throws Exception {
+        String watermark = syncAll();
+
+        perform(delete("/api/projects/" + projectId), status().isNoContent());
+
+        JsonNode changes = sync(watermark, 100);
+        assertEquals(List.of(projectId), ids(changes.get("deletedProjectIds")));
+        assertTrue(changes.get("deletedTaskIds").isEmpty());
+        assertTrue(changes.get("tasks").isEmpty());
+    }
+
+    @Test
+    public void rejectsInvalidAndExpiredWatermarks() throws Exception {
+        perform(get("/api/sync").param("since", "not a watermark"), status().isBadRequest());
+
+        String expired = SyncWatermark.after(LocalDateTime.now().minusDays(365)).encode();
+        perform(get("/api/sync").param("since", expired), status().isGone());
+    }
+
+    private String syncAll() throws Exception {
+        JsonNode batch = sync("", 100);
+        assertFalse(batch.get("hasMore").asBoolean());
+        return batch.get("watermark").asText();
+    }
+
+    private JsonNode sync(String since, int size) throws Exception {
+        return perform(get("/api/sync").param("since", since).param("size", String.valueOf(size)), status().isOk());
+    }
+
+    private static List<Long> ids(JsonNode rows, String field) {
+        List<Long> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(row.get(field).asLong()));
+        return ids;
+    }
+
+    private static List<Long> ids(JsonNode values) {
+        List<Long> ids = new ArrayList<>();
+        values.forEach(value -> ids.add(value.asLong()));
+        return ids;
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+}
@@ -1,14 +1,28 @@
 package ma.ensa.projecttasksbackend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import ma.ensa.projecttasksbackend.dto.pagination.CursorPagedResponse;
 import ma.ensa.projecttasksbackend.dto.pagination.PagedResponse;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchResultDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskExportFormat;
 import ma.ensa.projecttasksbackend.dto.task.TaskFilterDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportFormat;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportJobDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportStatus;
 import ma.ensa.projecttasksbackend.dto.task.TaskResponseDTO;
 import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.exception.ImportCapacityExceededException;
+import ma.ensa.projecttasksbackend.exception.InvalidCursorException;
 import ma.ensa.projecttasksbackend.security.CustomUserDetailsService;
 import ma.ensa.projecttasksbackend.security.JwtAuthenticationFilter;
 import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.service.ProjectService;
+import ma.ensa.projecttasksbackend.service.TaskExportService;
+import ma.ensa.projecttasksbackend.service.TaskImportService;
 import ma.ensa.projecttasksbackend.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,10 +32,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -41,6 +60,15 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskImportService taskImportService;
+
+    @MockitoBean
+    private ProjectService projectService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -53,7 +81,7 @@ public class TaskControllerTest {
     @Test
     public void testCreateTask_Success() throws Exception {
         TaskCreateDTO createRequest = new TaskCreateDTO("Test Task", "Task Description", null);
-        TaskResponseDTO response = new TaskResponseDTO(1L, "Test Task", "Task Description", false, null, 1L, LocalDateTime.now());
+        TaskResponseDTO response = new TaskResponseDTO(1L, "Test Task", "Task Description", false, null, 1L, LocalDateTime.now(), 0L);
 
         when(taskService.createTask(eq(1L), any(TaskCreateDTO.class))).thenReturn(response);
 
@@ -78,9 +106,70 @@ public class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void testCreateTasks_Success() throws Exception {
+        TaskBatchCreateDTO batch = new TaskBatchCreateDTO(List.of(
+                new TaskCreateDTO("First", null, null),
+                new TaskCreateDTO("Second", "Details", null)));
+        List<TaskResponseDTO> response = List.of(
+                new TaskResponseDTO(1L, "First", null, false, null, 1L, LocalDateTime.now(), 0L),
+                new TaskResponseDTO(2L, "Second", "Details", false, null, 1L, LocalDateTime.now(), 0L));
+
+        when(taskService.createTasks(eq(1L), any(TaskBatchCreateDTO.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/projects/1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].title").value("First"))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    public void testCreateTasks_ValidationError() throws Exception {
+        TaskBatchCreateDTO batch = new TaskBatchCreateDTO(List.of(
+                new TaskCreateDTO("Valid", null, null),
+                new TaskCreateDTO("", null, null)));
+
+        mockMvc.perform(post("/api/projects/1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/projects/1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskBatchCreateDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).createTasks(anyLong(), any(TaskBatchCreateDTO.class));
+    }
+
+    @Test
+    public void testCompleteTasks_Success() throws Exception {
+        when(taskService.completeTasks(eq(1L), any(TaskIdsDTO.class))).thenReturn(new TaskBatchResultDTO(3, 2));
+
+        mockMvc.perform(post("/api/projects/1/tasks:complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskIdsDTO(List.of(1L, 2L, 3L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    public void testDeleteTasks_NotFound() throws Exception {
+        when(taskService.deleteTasks(eq(1L), any(TaskIdsDTO.class)))
+                .thenThrow(new EntityNotFoundException("Task not found or access denied"));
+
+        mockMvc.perform(post("/api/projects/1/tasks:delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskIdsDTO(List.of(1L, 99L)))))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testGetTasksByProject_Success() throws Exception {
-        TaskResponseDTO task = new TaskResponseDTO(1L, "Test Task", "Description", false, new Date(), 1L, LocalDateTime.now());
+        TaskResponseDTO task = new TaskResponseDTO(1L, "Test Task", "Description", false, new Date(), 1L, LocalDateTime.now(), 0L);
         PagedResponse<TaskResponseDTO> pagedResponse = new PagedResponse<>(Collections.singletonList(task), 0, 10, 1L, 1, true);
 
         when(taskService.getTasksByProject(eq(1L), any(TaskFilterDTO.class), any(Pageable.class))).thenReturn(pagedResponse);
@@ -92,7 +181,7 @@ public class TaskControllerTest {
 
     @Test
     public void testGetTasksByProject_WithFilters() throws Exception {
-        TaskResponseDTO task = new TaskResponseDTO(1L, "Design Task", "Important", true, null, 1L, LocalDateTime.now());
+        TaskResponseDTO task = new TaskResponseDTO(1L, "Design Task", "Important", true, null, 1L, LocalDateTime.now(), 0L);
         PagedResponse<TaskResponseDTO> pagedResponse = new PagedResponse<>(Collections.singletonList(task), 0, 10, 1L, 1, true);
 
         when(taskService.getTasksByProject(eq(1L), any(TaskFilterDTO.class), any(Pageable.class))).thenReturn(pagedResponse);
@@ -108,10 +197,97 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.content[0].isCompleted").value(true));
     }
 
+    @Test
+    public void testGetTasksByProject_WithCursor() throws Exception {
+        TaskResponseDTO task = new TaskResponseDTO(1L, "Test Task", "Description", false, null, 1L, LocalDateTime.now(), 0L);
+        CursorPagedResponse<TaskResponseDTO> cursorResponse = new CursorPagedResponse<>(Collections.singletonList(task), 1, "next", false);
+
+        when(taskService.getTasksByProjectAfter(eq(1L), any(TaskFilterDTO.class), eq(""), eq(1))).thenReturn(cursorResponse);
+
+        mockMvc.perform(get("/api/projects/1/tasks").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(taskService, never()).getTasksByProject(anyLong(), any(TaskFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    public void testGetTasksByProject_InvalidCursor() throws Exception {
+        when(taskService.getTasksByProjectAfter(eq(1L), any(TaskFilterDTO.class), eq("garbage"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid pagination cursor"));
+
+        mockMvc.perform(get("/api/projects/1/tasks").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor"));
+    }
+
+    @Test
+    public void testExportTasks_Csv() throws Exception {
+        StreamingResponseBody body = out -> out.write("id,title\r\n".getBytes(StandardCharsets.UTF_8));
+        when(taskExportService.exportTasks(eq(1L), any(TaskFilterDTO.class), eq(TaskExportFormat.CSV))).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/api/projects/1/tasks:export")
+                        .param("format", "CSV")
+                        .param("completed", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"project-1-tasks.csv\""))
+                .andExpect(content().string("id,title\r\n"));
+
+        verify(taskExportService).exportTasks(eq(1L), argThat(filter -> Boolean.TRUE.equals(filter.completed())), eq(TaskExportFormat.CSV));
+    }
+
+    @Test
+    public void testExportTasks_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/projects/1/tasks:export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testImportTasks_Accepted() throws Exception {
+        TaskImportJobDTO job = new TaskImportJobDTO("job-1", 1L, TaskImportFormat.CSV, TaskImportStatus.QUEUED,
+                0, 0, 0, List.of(), null, LocalDateTime.now(), null);
+        when(taskImportService.importTasks(eq(1L), eq(TaskImportFormat.CSV), any(InputStream.class))).thenReturn(job);
+
+        mockMvc.perform(post("/api/projects/1/tasks:import")
+                        .param("format", "CSV")
+                        .contentType("text/csv")
+                        .content("title\r\nFirst\r\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/imports/job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    public void testImportTasks_QueueFull() throws Exception {
+        when(taskImportService.importTasks(eq(1L), eq(TaskImportFormat.NDJSON), any(InputStream.class)))
+                .thenThrow(new ImportCapacityExceededException("Too many imports in progress, try again later"));
+
+        mockMvc.perform(post("/api/projects/1/tasks:import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"First\"}\n"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void testGetImport_NotFound() throws Exception {
+        when(taskImportService.getImport("missing"))
+                .thenThrow(new EntityNotFoundException("Import not found or access denied"));
+
+        mockMvc.perform(get("/api/imports/missing"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testUpdateTask_Success() throws Exception {
         TaskUpdateDTO updateRequest = new TaskUpdateDTO("Updated Task", "Updated Description", null, false);
-        TaskResponseDTO response = new TaskResponseDTO(1L, "Updated Task", "Updated Description", false, null, 1L, LocalDateTime.now());
+        TaskResponseDTO response = new TaskResponseDTO(1L, "Updated Task", "Updated Description", false, null, 1L, LocalDateTime.now(), 0L);
 
         when(taskService.updateTask(eq(1L), any(TaskUpdateDTO.class))).thenReturn(response);
 
@@ -135,7 +311,7 @@ public class TaskControllerTest {
 
     @Test
     public void testMarkTaskAsCompleted_Success() throws Exception {
-        TaskResponseDTO response = new TaskResponseDTO(1L, "Test Task", "Description", true, null, 1L, LocalDateTime.now());
+        TaskResponseDTO response = new TaskResponseDTO(1L, "Test Task", "Description", true, null, 1L, LocalDateTime.now(), 0L);
 
         when(taskService.markAsCompleted(1L)).thenReturn(response);
 
@@ -0,0 +1,228 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.dto.task.TaskBatchCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskIdsDTO;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Opens task event streams and checks that task writes reach the streams of their owner, once
+ * committed and in order, and only those of the project they belong to.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private Long projectId;
+    private Long otherProjectId;
+
+    @BeforeEach
+    public void seed() {
+        User user = user("events@example.com");
+        token = jwtService.generateToken(new UserPrincipal(user));
+        projectId = project(user, "Watched").getId();
+        otherProjectId = project(user, "Other").getId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void streamsTaskChangesOfProject() throws Exception {
+        MvcResult stream = subscribe("/api/projects/" + projectId + "/events");
+
+        Long taskId = createTask(projectId, "Watched task");
+        createTask(otherProjectId, "Unwatched task");
+        perform(patch("/api/tasks/" + taskId + "/complete"), status().isOk());
+        perform(delete("/api/tasks/" + taskId), status().isNoContent());
+
+        List<JsonNode> events = awaitEvents(stream, 3);
+        assertEquals(3, events.size());
+        assertEquals(List.of("CREATED", "COMPLETED", "DELETED"), events.stream().map(event -> event.get("type").asText()).toList());
+        events.forEach(event -> {
+            assertEquals(projectId, event.get("projectId").asLong());
+            assertEquals(taskId, event.get("taskId").asLong());
+        });
+        assertEquals("Watched task", events.get(0).get("task").get("title").asText());
+        assertTrue(events.get(1).get("task").get("isCompleted").asBoolean());
+        assertTrue(events.get(2).get("task").isNull());
+    }
+
+    @Test
+    public void streamsAllProjectsOfUser() throws Exception {
+        MvcResult stream = subscribe("/api/events");
+
+        String ownToken = token;
+        User stranger = user("events-stranger@example.com");
+        token = jwtService.generateToken(new UserPrincipal(stranger));
+        createTask(project(stranger, "Stranger's").getId(), "Foreign task");
+        token = ownToken;
+        Long first = createTask(projectId, "First");
+        Long second = createTask(otherProjectId, "Second");
+        perform(post("/api/projects/" + otherProjectId + "/tasks:delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskIdsDTO(List.of(second)))),
+                status().isOk());
+
+        List<JsonNode> events = awaitEvents(stream, 3);
+        assertEquals(3, events.size());
+        assertEquals(first, events.get(0).get("taskId").asLong());
+        assertEquals(projectId, events.get(0).get("projectId").asLong());
+        assertEquals(second, events.get(1).get("taskId").asLong());
+        assertEquals("PROJECT_CHANGED", events.get(2).get("type").asText());
+        assertEquals(otherProjectId, events.get(2).get("projectId").asLong());
+    }
+
+    @Test
+    public void streamsOneEventPerBatch() throws Exception {
+        MvcResult stream = subscribe("/api/projects/" + projectId + "/events");
+
+        List<TaskCreateDTO> tasks = new ArrayList<>();
+        for (int t = 0; t < 300; t++) {
+            tasks.add(new TaskCreateDTO("Batch task " + t, null, null));
+        }
+        List<Long> taskIds = new ArrayList<>();
+        perform(post("/api/projects/" + projectId + "/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskBatchCreateDTO(tasks))),
+                status().isCreated()).forEach(task -> taskIds.add(task.get("id").asLong()));
+        perform(post("/api/projects/" + projectId + "/tasks:complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskIdsDTO(taskIds.subList(0, 2)))),
+                status().isOk());
+
+        // More tasks than the subscriber's queue holds, in two events.
+        List<JsonNode> events = awaitEvents(stream, 2);
+        assertEquals(2, events.size());
+        assertEquals(List.of("PROJECT_CHANGED", "PROJECT_CHANGED"), events.stream().map(event -> event.get("type").asText()).toList());
+        assertEquals(300, events.get(0).get("count").asInt());
+        assertEquals(2, events.get(1).get("count").asInt());
+        assertTrue(events.get(0).get("taskId").isNull());
+    }
+
+    @Test
+    public void endsStreamWhenProjectIsDeleted() throws Exception {
+        MvcResult stream = subscribe("/api/projects/" + projectId + "/events");
+
+        perform(delete("/api/projects/" + projectId), status().isNoContent());
+
+        // Throws unless the stream completes.
+        stream.getAsyncResult(5000);
+    }
+
+    @Test
+    public void otherUsersProjectIsNotFound() throws Exception {
+        token = jwtService.generateToken(new UserPrincipal(user("events-stranger@example.com")));
+
+        perform(get("/api/projects/" + projectId + "/events"), status().isNotFound());
+    }
+
+    private MvcResult subscribe(String url) throws Exception {
+        return mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private List<JsonNode> awaitEvents(MvcResult stream, int count) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<JsonNode> events = events(stream);
+        while (events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            events = events(stream);
+        }
+        return events;
+    }
+
+    private List<JsonNode> events(MvcResult stream) throws Exception {
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : stream.getResponse().getContentAsString().split("\n")) {
+            if (line.startsWith("data:")) {
+                events.add(objectMapper.readTree(line.substring("data:".length())));
+            }
+        }
+        return events;
+    }
+
+    private Long createTask(Long projectId, String title) throws Exception {
+        return perform(post("/api/projects/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskCreateDTO(title, null, null))),
+                status().isCreated()).get("id").asLong();
+    }
+
+    private User user(String email) {
+        return userRepository.save(User.builder()
+                .fullName("Events User")
+                .email(email)
+                .password("password")
+                .build());
+    }
+
+    private Project project(User user, String title) {
+        return projectRepository.save(Project.builder()
+                .title(title)
+                .user(user)
+                .build());
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+}
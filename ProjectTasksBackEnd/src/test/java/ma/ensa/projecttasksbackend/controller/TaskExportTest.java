@@ -0,0 +1,150 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streams a project's tasks through {@code GET /api/projects/{projectId}/tasks:export} with the
+ * full filter chain and checks the NDJSON and CSV bodies. Small chunks make every export read
+ * several of them.
+ */
+@SpringBootTest(properties = "tasks.export.chunk-size=7")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskExportTest {
+
+    private static final int TASKS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User user;
+    private String token;
+    private Long projectId;
+
+    @BeforeEach
+    public void seed() {
+        user = userRepository.save(User.builder()
+                .fullName("Export User")
+                .email("export@example.com")
+                .password("password")
+                .build());
+        token = jwtService.generateToken(new UserPrincipal(user));
+
+        Project project = projectRepository.save(Project.builder()
+                .title("Export project")
+                .user(user)
+                .build());
+        projectId = project.getId();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int t = 0; t < TASKS; t++) {
+            tasks.add(Task.builder()
+                    .title("Task " + t)
+                    .description(t == 0 ? "Line one\nsaid \"hi\", twice" : null)
+                    .completed(t % 3 == 0)
+                    .project(project)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void exportsNdjsonNewestFirst() throws Exception {
+        String body = export(get("/api/projects/" + projectId + "/tasks:export"));
+
+        String[] lines = body.split("\n");
+        assertEquals(TASKS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        JsonNode last = objectMapper.readTree(lines[TASKS - 1]);
+        assertEquals("Task " + (TASKS - 1), first.get("title").asText());
+        assertEquals(projectId, first.get("projectId").asLong());
+        assertEquals("Line one\nsaid \"hi\", twice", last.get("description").asText());
+        assertFalse(body.contains("\n\n"));
+    }
+
+    @Test
+    public void exportsFilteredCsv() throws Exception {
+        String body = export(get("/api/projects/" + projectId + "/tasks:export")
+                .param("format", "CSV")
+                .param("completed", "true"));
+
+        String[] lines = body.split("\r\n");
+        assertEquals("id,title,description,completed,dueDate,projectId,createdAt", lines[0]);
+        assertEquals(1 + TASKS / 3, lines.length);
+        assertTrue(lines[lines.length - 1].contains(",Task 0,\"Line one\nsaid \"\"hi\"\", twice\",true,,"));
+    }
+
+    @Test
+    public void otherUsersProjectIsNotFound() throws Exception {
+        User stranger = userRepository.save(User.builder()
+                .fullName("Stranger")
+                .email("export-stranger@example.com")
+                .password("password")
+                .build());
+
+        mockMvc.perform(get("/api/projects/" + projectId + "/tasks:export")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(new UserPrincipal(stranger))))
+                .andExpect(status().isNotFound());
+    }
+
+    private String export(MockHttpServletRequestBuilder exportRequest) throws Exception {
+        MvcResult result = mockMvc.perform(exportRequest.header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,191 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs imports through {@code POST /api/projects/{projectId}/tasks:import} against H2 and polls
+ * the job until it finishes. Uploads are limited to 1 MB.
+ */
+@SpringBootTest(properties = "tasks.import.max-upload-size=1MB")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskImportTest {
+
+    private static final int ROWS = 2500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private Long projectId;
+
+    @BeforeEach
+    public void seed() {
+        User user = userRepository.save(User.builder()
+                .fullName("Import User")
+                .email("import@example.com")
+                .password("password")
+                .build());
+        token = jwtService.generateToken(new UserPrincipal(user));
+
+        projectId = projectRepository.save(Project.builder()
+                .title("Import project")
+                .user(user)
+                .build()).getId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void importsNdjsonAndReportsRejectedRows() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int row = 1; row <= ROWS; row++) {
+            switch (row) {
+                case 5 -> body.append("{\"title\":\" \"}");
+                case 10 -> body.append("{\"title\":");
+                case 20 -> body.append("{\"title\":\"Late\",\"dueDate\":\"2000-01-01\"}");
+                case 30 -> body.append("{\"title\":\"Long\",\"description\":\"").append("x".repeat(300)).append("\"}");
+                default -> body.append("{\"title\":\"Imported ").append(row).append("\"}");
+            }
+            body.append('\n');
+        }
+
+        JsonNode job = await(submit("NDJSON", body.toString()));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(ROWS, job.get("rowsRead").asLong());
+        assertEquals(ROWS - 4, job.get("imported").asLong());
+        assertEquals(4, job.get("failed").asLong());
+        List<Long> rejected = new ArrayList<>();
+        job.get("errors").forEach(error -> rejected.add(error.get("row").asLong()));
+        assertEquals(List.of(5L, 10L, 20L, 30L), rejected);
+        assertTrue(job.get("errors").get(0).get("message").asText().startsWith("title: "));
+
+        assertEquals(ROWS - 4, taskRepository.count());
+        assertEquals(ROWS - 4, projectRepository.findById(projectId).orElseThrow().getTotalTasks());
+    }
+
+    @Test
+    public void importsCsvInTheExportLayout() throws Exception {
+        String body = "\uFEFFid,title,description,completed,dueDate,projectId,createdAt\r\n"
+                + "7,Plan,\"Line one\nsaid \"\"hi\"\", twice\",true,2999-01-01,1,2024-01-01T00:00:00\r\n"
+                + "\r\n"
+                + "8,Review,,false,someday,1,\r\n"
+                + "9,Ship,,false,,1,\r\n";
+
+        JsonNode job = await(submit("CSV", body));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(2, job.get("imported").asLong());
+        assertEquals(2, job.get("errors").get(0).get("row").asLong());
+
+        List<Task> tasks = taskRepository.findAll();
+        Task plan = tasks.stream().filter(task -> task.getTitle().equals("Plan")).findFirst().orElseThrow();
+        assertEquals("Line one\nsaid \"hi\", twice", plan.getDescription());
+        assertTrue(plan.getDueDate() != null && !plan.isCompleted());
+    }
+
+    @Test
+    public void importsAreVisibleToTheirOwnerOnly() throws Exception {
+        String location = submit("NDJSON", "{\"title\":\"Mine\"}\n");
+        await(location);
+
+        User stranger = userRepository.save(User.builder()
+                .fullName("Stranger")
+                .email("import-stranger@example.com")
+                .password("password")
+                .build());
+        String strangerToken = jwtService.generateToken(new UserPrincipal(stranger));
+
+        mockMvc.perform(get(location).header("Authorization", "Bearer " + strangerToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/projects/" + projectId + "/tasks:import")
+                        .header("Authorization", "Bearer " + strangerToken)
+                        .content("{\"title\":\"Theirs\"}\n"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void rejectsUploadsOverTheLimit() throws Exception {
+        String row = "{\"title\":\"Too many\"}\n";
+        String body = row.repeat(1024 * 1024 / row.length() + 1);
+
+        mockMvc.perform(post("/api/projects/" + projectId + "/tasks:import")
+                        .header("Authorization", "Bearer " + token)
+                        .content(body))
+                .andExpect(status().isPayloadTooLarge());
+
+        assertEquals(0, taskRepository.count());
+    }
+
+    private String submit(String format, String body) throws Exception {
+        return mockMvc.perform(post("/api/projects/" + projectId + "/tasks:import")
+                        .param("format", format)
+                        .header("Authorization", "Bearer " + token)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getHeader("Location");
+    }
+
+    private JsonNode await(String location) throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get(location).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = job.get("status").asText();
+            if (state.equals("COMPLETED") || state.equals("FAILED")) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import did not finish: " + location);
+    }
+}
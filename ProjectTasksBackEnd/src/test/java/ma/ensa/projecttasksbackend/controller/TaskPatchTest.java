@@ -0,0 +1,179 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Edits a task through {@code PATCH /api/tasks/{id}}, which keeps the fields left out of the body,
+ * and completes it through {@code PATCH /api/tasks/{id}/complete}. Both bump the task's version,
+ * which If-Match checks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    public void seed() {
+        User user = user("patch@example.com");
+        token = jwtService.generateToken(new UserPrincipal(user));
+        Project project = projectRepository.save(Project.builder().title("Patched").user(user).totalTasks(1).build());
+        projectId = project.getId();
+        taskId = taskRepository.save(Task.builder()
+                .title("Original")
+                .description("Details")
+                .dueDate(Date.valueOf(LocalDate.now().plusDays(1)))
+                .project(project)
+                .build()).getId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void writesOnlyTheFieldsInTheBody() throws Exception {
+        JsonNode task = patchTask("{\"title\":\"Renamed\"}", null, status().isOk());
+
+        assertEquals("Renamed", task.get("title").asText());
+        assertEquals("Details", task.get("description").asText());
+        assertFalse(task.get("dueDate").isNull());
+        assertEquals(1, task.get("version").asLong());
+
+        task = patchTask("{\"description\":null,\"dueDate\":null,\"completed\":true}", null, status().isOk());
+
+        assertEquals("Renamed", task.get("title").asText());
+        assertTrue(task.get("description").isNull());
+        assertTrue(task.get("dueDate").isNull());
+        assertTrue(task.get("isCompleted").asBoolean());
+        assertEquals(1, projectRepository.findById(projectId).orElseThrow().getCompletedTasks());
+    }
+
+    @Test
+    public void rejectsStaleIfMatch() throws Exception {
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"First\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        patchTask("{\"title\":\"Second\"}", "\"0\"", status().isConflict());
+        patchTask("{\"title\":\"Second\"}", "\"1\"", status().isOk());
+
+        assertEquals("Second", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    public void rejectsBlankTitle() throws Exception {
+        patchTask("{\"title\":\" \"}", null, status().isBadRequest());
+    }
+
+    @Test
+    public void completesOnceAndBumpsVersion() throws Exception {
+        JsonNode task = perform(patch("/api/tasks/" + taskId + "/complete"), status().isOk());
+        assertTrue(task.get("isCompleted").asBoolean());
+        assertEquals(1, task.get("version").asLong());
+        assertEquals(projectId, task.get("projectId").asLong());
+
+        // Already completed: answered as it is, without another write.
+        task = perform(patch("/api/tasks/" + taskId + "/complete"), status().isOk());
+        assertEquals(1, task.get("version").asLong());
+        assertEquals(1, projectRepository.findById(projectId).orElseThrow().getCompletedTasks());
+
+        // The edit checks the version the completion bumped.
+        patchTask("{\"completed\":false}", "\"0\"", status().isConflict());
+    }
+
+    @Test
+    public void otherUsersTaskIsNotFound() throws Exception {
+        token = jwtService.generateToken(new UserPrincipal(user("patch-stranger@example.com")));
+
+        perform(patch("/api/tasks/" + taskId + "/complete"), status().isNotFound());
+        patchTask("{\"title\":\"Stolen\"}", null, status().isNotFound());
+
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertFalse(task.isCompleted());
+        assertEquals("Original", task.getTitle());
+    }
+
+    private JsonNode patchTask(String body, String ifMatch, ResultMatcher expectedStatus) throws Exception {
+        MockHttpServletRequestBuilder request = patch("/api/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return perform(request, expectedStatus);
+    }
+
+    private User user(String email) {
+        return userRepository.save(User.builder()
+                .fullName("Patch User")
+                .email(email)
+                .password("password")
+                .build());
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,163 @@
+package ma.ensa.projecttasksbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.ensa.projecttasksbackend.dto.task.TaskCreateDTO;
+import ma.ensa.projecttasksbackend.dto.task.TaskUpdateDTO;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.repository.TaskRepository;
+import ma.ensa.projecttasksbackend.repository.UserRepository;
+import ma.ensa.projecttasksbackend.security.JwtService;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import ma.ensa.projecttasksbackend.service.TaskCounterReconciler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Searches through {@code GET /api/projects/{projectId}/tasks?query=} against H2, checking the
+ * relevance ordering and that the in-memory index follows the writes made through the API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterReconciler taskCounterReconciler;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private Long projectId;
+    private Long writeReportId;
+
+    @BeforeEach
+    public void seed() {
+        User user = userRepository.save(User.builder()
+                .fullName("Search User")
+                .email("search@example.com")
+                .password("password")
+                .build());
+        token = jwtService.generateToken(new UserPrincipal(user));
+
+        Project project = projectRepository.save(Project.builder()
+                .title("Search project")
+                .user(user)
+                .build());
+        projectId = project.getId();
+
+        writeReportId = save(project, "Write report", "Quarterly numbers", false).getId();
+        save(project, "Plan sprint", "Draft the report outline", false);
+        save(project, "Report", null, true);
+        save(project, "Unrelated", "Nothing to see", false);
+        taskCounterReconciler.reconcile();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void ranksTitleMatchesBeforeDescriptionMatches() throws Exception {
+        search("REPORT")
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[*].title").value(contains("Report", "Write report", "Plan sprint")));
+    }
+
+    @Test
+    public void appliesTheOtherFiltersAndPaging() throws Exception {
+        mockMvc.perform(get("/api/projects/" + projectId + "/tasks")
+                        .param("query", "report")
+                        .param("completed", "false")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.content[*].title").value(contains("Plan sprint")));
+    }
+
+    @Test
+    public void matchesShortQueriesAsSubstrings() throws Exception {
+        search("re")
+                .andExpect(jsonPath("$.content[*].title").value(contains("Report", "Write report", "Unrelated", "Plan sprint")));
+    }
+
+    @Test
+    public void followsTaskWrites() throws Exception {
+        search("report").andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(post("/api/projects/" + projectId + "/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskCreateDTO("Report to board", null, null))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/tasks/" + writeReportId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Write summary", null, null, false))))
+                .andExpect(status().isOk());
+
+        search("report")
+                .andExpect(jsonPath("$.content[*].title").value(contains("Report", "Report to board", "Plan sprint")));
+        search("summary")
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        mockMvc.perform(delete("/api/tasks/" + writeReportId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        search("summary")
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    private ResultActions search(String query) throws Exception {
+        return mockMvc.perform(get("/api/projects/" + projectId + "/tasks")
+                        .param("query", query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private Task save(Project project, String title, String description, boolean completed) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .description(description)
+                .completed(completed)
+                .project(project)
+                .build());
+    }
+}
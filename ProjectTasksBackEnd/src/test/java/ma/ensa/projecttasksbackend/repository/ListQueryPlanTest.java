@@ -0,0 +1,304 @@
+package ma.ensa.projecttasksbackend.repository;
+
+import ma.ensa.projecttasksbackend.dto.project.ProjectSortField;
+import ma.ensa.projecttasksbackend.entity.Project;
+import ma.ensa.projecttasksbackend.entity.Task;
+import ma.ensa.projecttasksbackend.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the task and project listings against the schema built by the Flyway migrations and
+ * EXPLAINs every statement they issue, with the same parameters. On MySQL the listing must read
+ * through the index created for it, and no statement may scan the table or sort.
+ * <p>
+ * On H2 the test only rules out table scans. H2 cannot seek on {@code :completed IS NULL OR
+ * t.completed = :completed}, which MySQL simplifies once Connector/J has inlined the value, and its
+ * plans do not show whether the index order served the ORDER BY. The full check runs in
+ * {@link MySqlListQueryPlanTest}, or here with {@code -Dspring.datasource.url=} and the
+ * credentials of a MySQL database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ListQueryPlanTest.ExplainConfiguration.class)
+public class ListQueryPlanTest {
+
+    private static final int PROJECTS = 20;
+    private static final int TASKS = 3000;
+    private static final Pageable TASK_PAGE = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+    private static final Pageable PROJECT_PAGE = PageRequest.of(0, 10, ProjectSortField.CREATED_AT.toSort(Sort.Direction.DESC));
+    private static final Date DUE_FROM = java.sql.Date.valueOf(LocalDate.of(2024, 3, 1));
+    private static final Date DUE_TO = java.sql.Date.valueOf(LocalDate.of(2024, 3, 7));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryPlans queryPlans;
+
+    private Long userId;
+    private Long projectId;
+
+    @BeforeEach
+    public void seed() {
+        User user = userRepository.save(User.builder()
+                .fullName("Plan User")
+                .email("plans@example.com")
+                .password("password")
+                .build());
+        userId = user.getId();
+
+        List<Project> projects = projectRepository.saveAll(IntStream.range(0, PROJECTS)
+                .mapToObj(i -> Project.builder().title("Project " + i).user(user).build())
+                .toList());
+        projectId = projects.get(0).getId();
+
+        taskRepository.saveAll(IntStream.range(0, TASKS)
+                .mapToObj(i -> Task.builder()
+                        .title("Task " + i)
+                        .completed(i % 3 == 0)
+                        .dueDate(java.sql.Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 365)))
+                        .project(projects.get(i % PROJECTS))
+                        .build())
+                .toList());
+
+        if (isMySql()) {
+            jdbcTemplate.execute("ANALYZE TABLE task, project");
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void listsTasksThroughProjectIndex() {
+        assertReadsThrough("idx_task_project_created",
+                () -> taskRepository.findByProject(projectId, null, null, null, null, TASK_PAGE));
+    }
+
+    @Test
+    public void filtersCompletedTasksThroughCompletedIndex() {
+        assertReadsThrough("idx_task_project_completed_created",
+                () -> taskRepository.findByProject(projectId, null, true, null, null, TASK_PAGE));
+    }
+
+    @Test
+    public void filtersDueDatesThroughProjectIndex() {
+        assertReadsThrough("idx_task_project_created",
+                () -> taskRepository.findByProject(projectId, null, null, DUE_FROM, DUE_TO, TASK_PAGE));
+    }
+
+    @Test
+    public void seeksTasksThroughCompletedIndex() {
+        assertReadsThrough("idx_task_project_completed_created",
+                () -> taskRepository.findByProjectAfter(projectId, null, false, DUE_FROM, DUE_TO,
+                        LocalDateTime.now().plusDays(1), Long.MAX_VALUE, Limit.of(11)));
+    }
+
+    @Test
+    public void listsProjectsThroughUserIndex() {
+        assertReadsThrough("idx_project_user_created",
+                () -> projectRepository.findByUserId(userId, PROJECT_PAGE));
+    }
+
+    @Test
+    public void seeksProjectsThroughUserIndex() {
+        assertReadsThrough("idx_project_user_created",
+                () -> projectRepository.findByUserIdAfter(userId, LocalDateTime.now().plusDays(1), Long.MAX_VALUE, Limit.of(11)));
+    }
+
+    // The first statement is the listing itself; a page also counts its rows.
+    private void assertReadsThrough(String index, Runnable query) {
+        List<QueryPlan> plans = queryPlans.record(query);
+        assertFalse(plans.isEmpty(), "No statement was executed");
+
+        QueryPlan listing = plans.get(0);
+        if (listing.fromMySql()) {
+            assertTrue(listing.uses(index), () -> "Expected " + index + " for " + listing);
+        }
+        for (QueryPlan plan : plans) {
+            assertFalse(plan.scansTable(), () -> "Table scan in " + plan);
+            assertFalse(plan.sorts(), () -> "Sort in " + plan);
+        }
+    }
+
+    private boolean isMySql() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().matches("mysql|mariadb")));
+    }
+
+    /**
+     * The rows EXPLAIN returned for one statement: a single {@code PLAN} column on H2, one row per
+     * table with {@code type}, {@code key} and {@code Extra} on MySQL.
+     */
+    record QueryPlan(String sql, List<Map<String, Object>> rows) {
+
+        boolean fromMySql() {
+            return !rows.get(0).containsKey("plan");
+        }
+
+        boolean uses(String index) {
+            return rows.stream().anyMatch(row -> index.equalsIgnoreCase(String.valueOf(row.get("key"))));
+        }
+
+        boolean scansTable() {
+            return fromMySql()
+                    ? rows.stream().anyMatch(row -> "ALL".equals(row.get("type")))
+                    : String.valueOf(rows.get(0).get("plan")).contains(".tableScan");
+        }
+
+        boolean sorts() {
+            return rows.stream().anyMatch(row -> String.valueOf(row.get("Extra")).contains("filesort"));
+        }
+
+        @Override
+        public String toString() {
+            return sql + "\n" + rows;
+        }
+    }
+
+    /**
+     * Wraps the data source so that, while recording, every query is EXPLAINed on its connection
+     * with the parameters Hibernate bound to it before it runs.
+     */
+    static final class QueryPlans implements BeanPostProcessor {
+        private volatile List<QueryPlan> recorded;
+
+        synchronized List<QueryPlan> record(Runnable query) {
+            recorded = new ArrayList<>();
+            try {
+                query.run();
+                return recorded;
+            } finally {
+                recorded = null;
+            }
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, (method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection connection ? wrap(connection) : result;
+                });
+            }
+            return bean;
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return wrap(connection, statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(Connection connection, PreparedStatement statement, String sql) {
+            Map<Integer, Object[]> parameters = new TreeMap<>();
+            Map<Integer, Method> setters = new TreeMap<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, args);
+                    setters.put(index, method);
+                } else if (method.getName().equals("clearParameters")) {
+                    parameters.clear();
+                    setters.clear();
+                } else if (method.getName().equals("executeQuery") && recorded != null) {
+                    recorded.add(explain(connection, sql, setters, parameters));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private QueryPlan explain(Connection connection, String sql, Map<Integer, Method> setters,
+                                  Map<Integer, Object[]> parameters) throws Exception {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Method> setter : setters.entrySet()) {
+                    setter.getValue().invoke(explain, parameters.get(setter.getKey()));
+                }
+                List<Map<String, Object>> rows = new ArrayList<>();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    ColumnMapRowMapper mapper = new ColumnMapRowMapper();
+                    while (resultSet.next()) {
+                        rows.add(mapper.mapRow(resultSet, rows.size()));
+                    }
+                }
+                return new QueryPlan(sql, rows);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> handler.handle(method, args));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+
+    @TestConfiguration
+    static class ExplainConfiguration {
+        @Bean
+        static QueryPlans queryPlans() {
+            return new QueryPlans();
+        }
+    }
+}
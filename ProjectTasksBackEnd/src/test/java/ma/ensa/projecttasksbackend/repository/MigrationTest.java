@@ -0,0 +1,131 @@
+package ma.ensa.projecttasksbackend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on an empty database and on one holding the schema
+ * {@code ddl-auto=update} created before migrations existed, which the docker profile baselines
+ * at V1. Both must end with the same tables, columns and indexes, the ones the other tests validate
+ * the entities against, and the upgrade must keep the rows. Runs on H2 here and on MySQL in
+ * {@link MySqlMigrationTest}.
+ */
+public class MigrationTest {
+
+    private static final List<String> TABLES = List.of("user", "project", "task", "id_generator", "replica_heartbeat", "tombstone");
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    protected DataSource dataSource() {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @BeforeEach
+    public void cleanDatabase() {
+        dataSource = dataSource();
+        jdbc = new JdbcTemplate(dataSource);
+        flyway(false).clean();
+    }
+
+    @Test
+    public void upgradedDatabaseMatchesFreshOne() throws Exception {
+        flyway(false).migrate();
+        Map<String, String> fresh = schema();
+
+        flyway(false).clean();
+        createPreMigrationSchema();
+        flyway(true).migrate();
+
+        assertEquals(fresh, schema());
+    }
+
+    @Test
+    public void upgradeKeepsRowsAndCountsTasks() throws Exception {
+        createPreMigrationSchema();
+        jdbc.update("INSERT INTO user (id, email, full_name, password) VALUES (1, 'old@example.com', 'Old User', 'password')");
+        jdbc.update("INSERT INTO project (id, title, created_at, user_id) VALUES (1, 'Old', CURRENT_TIMESTAMP, 1)");
+        jdbc.update("INSERT INTO project (id, title, created_at, user_id) VALUES (2, 'Empty', CURRENT_TIMESTAMP, 1)");
+        jdbc.update("INSERT INTO task (id, title, completed, created_at, project_id) VALUES (1, 'Done', TRUE, CURRENT_TIMESTAMP, 1)");
+        jdbc.update("INSERT INTO task (id, title, completed, created_at, project_id) VALUES (2, 'Open', FALSE, CURRENT_TIMESTAMP, 1)");
+        jdbc.update("INSERT INTO task (id, title, completed, created_at, project_id) VALUES (3, 'Open', FALSE, CURRENT_TIMESTAMP, 1)");
+
+        Flyway flyway = flyway(true);
+        flyway.migrate();
+
+        assertEquals(MigrationVersion.fromVersion("1"), flyway.info().applied()[0].getVersion());
+        assertEquals(flyway.info().all()[flyway.info().all().length - 1].getVersion(), flyway.info().current().getVersion());
+        assertEquals(Map.of("total_tasks", 3, "completed_tasks", 1),
+                Map.copyOf(jdbc.queryForMap("SELECT total_tasks, completed_tasks FROM project WHERE id = 1")));
+        assertEquals(Map.of("total_tasks", 0, "completed_tasks", 0),
+                Map.copyOf(jdbc.queryForMap("SELECT total_tasks, completed_tasks FROM project WHERE id = 2")));
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM task WHERE version = 0", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM id_generator WHERE sequence_name = 'task'", Integer.class));
+    }
+
+    // What ddl-auto=update created from the entities as they were: exactly V1.
+    private void createPreMigrationSchema() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+    }
+
+    private Flyway flyway(boolean baselineOnMigrate) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .cleanDisabled(false)
+                .baselineOnMigrate(baselineOnMigrate)
+                .baselineVersion("1")
+                .load();
+    }
+
+    // Columns with their type and nullability, and the indexes named by the migrations with their
+    // columns. Constraint-backed index names chosen by the database are left out.
+    private Map<String, String> schema() throws SQLException {
+        Map<String, String> schema = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : TABLES) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, null)) {
+                    while (columns.next()) {
+                        schema.put(table + "." + columns.getString("COLUMN_NAME").toLowerCase(),
+                                columns.getString("TYPE_NAME") + " nullable=" + columns.getString("IS_NULLABLE"));
+                    }
+                }
+                Map<String, TreeSet<String>> indexes = new TreeMap<>();
+                try (ResultSet index = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+                    while (index.next()) {
+                        String name = index.getString("INDEX_NAME");
+                        if (name != null && name.toLowerCase().matches("idx_\\w+|fk[a-z0-9]+")) {
+                            indexes.computeIfAbsent(name.toLowerCase(), key -> new TreeSet<>())
+                                    .add(index.getShort("ORDINAL_POSITION") + ":" + index.getString("COLUMN_NAME").toLowerCase());
+                        }
+                    }
+                }
+                indexes.forEach((name, columns) -> schema.put(table + " index " + name, columns.toString()));
+            }
+        }
+        assertTrue(schema.containsKey("task index idx_task_project_completed_created"), schema::toString);
+        return schema;
+    }
+}
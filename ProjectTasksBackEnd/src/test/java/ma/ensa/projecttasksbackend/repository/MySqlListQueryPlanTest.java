@@ -0,0 +1,18 @@
+package ma.ensa.projecttasksbackend.repository;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * {@link ListQueryPlanTest} against the MySQL version docker-compose runs, whose plans show the
+ * index chosen and any sort. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class MySqlListQueryPlanTest extends ListQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+}
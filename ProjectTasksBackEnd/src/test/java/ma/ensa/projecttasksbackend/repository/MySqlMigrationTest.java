@@ -0,0 +1,24 @@
+package ma.ensa.projecttasksbackend.repository;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+/**
+ * {@link MigrationTest} against the MySQL version docker-compose runs, where the foreign keys
+ * create indexes of their own. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class MySqlMigrationTest extends MigrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @Override
+    protected DataSource dataSource() {
+        return new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
@@ -0,0 +1,111 @@
+package ma.ensa.projecttasksbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import ma.ensa.projecttasksbackend.dto.task.TaskImportFormat;
+import ma.ensa.projecttasksbackend.entity.User;
+import ma.ensa.projecttasksbackend.exception.ImportCapacityExceededException;
+import ma.ensa.projecttasksbackend.repository.ProjectRepository;
+import ma.ensa.projecttasksbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that {@link TaskImportService} turns an import away once every worker and queue slot is
+ * reserved, before reading its upload. One worker and no queue: the only slot is held by an upload
+ * that is still being received.
+ */
+public class TaskImportServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long PROJECT_ID = 10L;
+
+    private TaskImportService taskImportService;
+
+    @BeforeEach
+    public void createService() {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        when(projectRepository.existsByIdAndUserId(PROJECT_ID, USER_ID)).thenReturn(true);
+        taskImportService = new TaskImportService(
+                mock(TaskService.class),
+                projectRepository,
+                mock(Validator.class),
+                new ObjectMapper(),
+                mock(PlatformTransactionManager.class),
+                1000,
+                1,
+                0,
+                Duration.ofMinutes(1),
+                DataSize.ofMegabytes(1),
+                false
+        );
+    }
+
+    @AfterEach
+    public void shutdown() {
+        taskImportService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void rejectsImportWhenEverySlotIsTaken() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch failUpload = new CountDownLatch(1);
+        InputStream slowUpload = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                reading.countDown();
+                try {
+                    failUpload.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Client went away");
+            }
+        };
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> {
+            authenticate();
+            try {
+                taskImportService.importTasks(PROJECT_ID, TaskImportFormat.NDJSON, slowUpload);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(reading.await(5, TimeUnit.SECONDS), "First upload is being read");
+
+        authenticate();
+        InputStream second = new ByteArrayInputStream("{\"title\":\"Second\"}\n".getBytes());
+        assertThrows(ImportCapacityExceededException.class,
+                () -> taskImportService.importTasks(PROJECT_ID, TaskImportFormat.NDJSON, second));
+
+        failUpload.countDown();
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failed.getCause().getCause());
+    }
+
+    private static void authenticate() {
+        UserPrincipal principal = new UserPrincipal(User.builder().id(USER_ID).email("import@example.com").build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -7,7 +7,7 @@ import ConfirmationModal from "../components/ConfirmationModal";
 import Toast from "../components/Toast";
 import ErrorAlert from "../components/ErrorAlert";
 import { projectsService } from "../services/projects";
-import { Project, CreateProjectDto, ApiError } from "../types";
+import { Project, CreateProjectDto, ApiError, Dashboard } from "../types";
 import { handleApiError, formatApiError } from "../utils/errorHandler";
 import { useToast } from "../hooks/useToast";
 
@@ -24,6 +24,7 @@ export default function ProjectsList() {
   );
   const [isDeleteModalOpen, setIsDeleteModalOpen] = useState(false);
   const [projectToDelete, setProjectToDelete] = useState<Project | null>(null);
+  const [dashboard, setDashboard] = useState<Dashboard | null>(null);
   const { toast, showSuccess, showError, hideToast } = useToast();
 
   useEffect(() => {
@@ -38,6 +39,7 @@ export default function ProjectsList() {
       setProjects(response.content);
       setTotalPages(response.totalPages);
       setIsLastPage(response.last);
+      setDashboard(await projectsService.getDashboard());
     } catch (err) {
       setError(handleApiError(err));
     } finally {
@@ -112,6 +114,25 @@ export default function ProjectsList() {
 
         <ErrorAlert error={error} onClose={() => setError(null)} />
 
+        {dashboard && (
+          <div className="grid grid-cols-2 sm:grid-cols-5 gap-3 sm:gap-4 mb-6 sm:mb-8">
+            {[
+              { label: "Tasks", value: dashboard.totalTasks, color: "text-gray-800" },
+              { label: "Completed", value: dashboard.completedTasks, color: "text-green-600" },
+              { label: "Overdue", value: dashboard.overdueTasks, color: "text-red-600" },
+              { label: "Due today", value: dashboard.dueTodayTasks, color: "text-orange-600" },
+              { label: "Due this week", value: dashboard.dueThisWeekTasks, color: "text-blue-600" },
+            ].map((stat) => (
+              <div key={stat.label} className="bg-white rounded-lg shadow-sm p-3 sm:p-4">
+                <p className="text-xs sm:text-sm text-gray-500">{stat.label}</p>
+                <p className={`text-xl sm:text-2xl font-bold ${stat.color}`}>
+                  {stat.value}
+                </p>
+              </div>
+            ))}
+          </div>
+        )}
+
         <div className="min-h-[420px]">
           {loading ? (
             <div className="flex items-center justify-center py-12">
@@ -12,16 +12,44 @@ api.interceptors.request.use(config => {
   return config;
 });
 
+// Last response of each conditional GET with its ETag, replayed when the server answers 304.
+const conditionalResponses = new Map<string, { etag: string; data: unknown }>();
+
+export const clearConditionalResponses = () => conditionalResponses.clear();
+
 api.interceptors.response.use(
   (response) => response,
   (error) => {
     if (error.response && (error.response.status === 401 || error.response.status === 403)) {
       localStorage.removeItem('token');
       localStorage.removeItem('userId');
+      clearConditionalResponses();
     }
 
     return Promise.reject(error);
   }
 );
 
+// GET that sends If-None-Match with the ETag of the previous response for the same URL and
+// parameters, and returns that response's data again when nothing changed.
+export const getConditional = async <T>(url: string, params?: Record<string, unknown>): Promise<T> => {
+  const key = api.getUri({ url, params });
+  const previous = conditionalResponses.get(key);
+  const response = await api.get<T>(url, {
+    params,
+    headers: previous ? { 'If-None-Match': previous.etag } : undefined,
+    validateStatus: (status) => (status >= 200 && status < 300) || (status === 304 && !!previous)
+  });
+  if (response.status === 304 && previous) {
+    return previous.data as T;
+  }
+  const etag = response.headers['etag'];
+  if (etag) {
+    conditionalResponses.set(key, { etag, data: response.data });
+  } else {
+    conditionalResponses.delete(key);
+  }
+  return response.data;
+};
+
 export default api;
@@ -1,4 +1,4 @@
-import api from './api';
+import api, { clearConditionalResponses } from './api';
 import { AuthResponse } from '../types';
 
 export const authService = {
@@ -22,9 +22,11 @@ export const authService = {
   logout: () => {
     localStorage.removeItem('token');
     localStorage.removeItem('userId');
+    clearConditionalResponses();
   },
 
   saveAuth: (authResponse: AuthResponse) => {
+    clearConditionalResponses();
     localStorage.setItem('token', authResponse.accessToken);
     localStorage.setItem('userId', authResponse.userId.toString());
   },
@@ -1,5 +1,5 @@
-import api from './api';
-import { Project, PaginatedResponse, CreateProjectDto } from '../types';
+import api, { getConditional } from './api';
+import { Project, PaginatedResponse, CreateProjectDto, Dashboard } from '../types';
 
 export const projectsService = {
   getProjects: async (page = 0, size = 6): Promise<PaginatedResponse<Project>> => {
@@ -10,8 +10,7 @@ export const projectsService = {
   },
 
   getProject: async (id: number): Promise<Project> => {
-    const response = await api.get<Project>(`/projects/${id}`);
-    return response.data;
+    return getConditional<Project>(`/projects/${id}`);
   },
 
   createProject: async (data: CreateProjectDto): Promise<Project> => {
@@ -26,5 +25,10 @@ export const projectsService = {
 
   deleteProject: async (id: number): Promise<void> => {
     await api.delete(`/projects/${id}`);
+  },
+
+  getDashboard: async (): Promise<Dashboard> => {
+    const response = await api.get<Dashboard>('/dashboard');
+    return response.data;
   }
 };
@@ -1,4 +1,4 @@
-import api from './api';
+import api, { getConditional } from './api';
 import { Task, PaginatedResponse, CreateTaskDto, UpdateTaskDto } from '../types';
 
 interface GetTasksParams {
@@ -12,17 +12,14 @@ interface GetTasksParams {
 
 export const tasksService = {
   getTasks: async (projectId: number, params: GetTasksParams = {}): Promise<PaginatedResponse<Task>> => {
-    const response = await api.get<PaginatedResponse<Task>>(`/projects/${projectId}/tasks`, {
-      params: {
-        page: params.page || 0,
-        size: params.size || 5,
-        query: params.query || '',
-        completed: params.completed,
-        dueDateFrom: params.dueDateFrom || '',
-        dueDateTo: params.dueDateTo || ''
-      }
+    return getConditional<PaginatedResponse<Task>>(`/projects/${projectId}/tasks`, {
+      page: params.page || 0,
+      size: params.size || 5,
+      query: params.query || '',
+      completed: params.completed,
+      dueDateFrom: params.dueDateFrom || '',
+      dueDateTo: params.dueDateTo || ''
     });
-    return response.data;
   },
 
   createTask: async (projectId: number, data: CreateTaskDto): Promise<Task> => {
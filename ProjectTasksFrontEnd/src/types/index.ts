@@ -22,6 +22,16 @@ export interface Task {
   dueDate: string;
   projectId: number;
   createdAt: string;
+  version: number;
+}
+
+export interface Dashboard {
+  date: string;
+  totalTasks: number;
+  completedTasks: number;
+  overdueTasks: number;
+  dueTodayTasks: number;
+  dueThisWeekTasks: number;
 }
 
 export interface PaginatedResponse<T> {